@@ -3,7 +3,10 @@ package org.maks.farmingPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.maks.farmingPlugin.commands.PlantationCommand;
+import org.maks.farmingPlugin.config.PluginSettings;
 import org.maks.farmingPlugin.database.DatabaseManager;
+import org.maks.farmingPlugin.database.PersistenceExecutor;
+import org.maks.farmingPlugin.database.ShutdownDrain;
 import org.maks.farmingPlugin.listeners.PlantationListeners;
 import org.maks.farmingPlugin.managers.*;
 import org.maks.farmingPlugin.materials.MaterialManager;
@@ -14,13 +17,19 @@ import java.util.logging.Level;
 public final class FarmingPlugin extends JavaPlugin {
     
     private DatabaseManager databaseManager;
+    private PersistenceExecutor persistenceExecutor;
     private MaterialManager materialManager;
     private EconomyManager economyManager;
     private PlantationManager plantationManager;
     private PlantationAreaManager plantationAreaManager;
+    private BlockEditQueue blockEditQueue;
     private OfflineGrowthManager offlineGrowthManager;
     private HologramManager hologramManager;
     private PouchIntegrationManager pouchIntegrationManager;
+    private OverflowStorageManager overflowStorageManager;
+    private StatsManager statsManager;
+    
+    private volatile PluginSettings settings;
     
     private static FarmingPlugin instance;
 
@@ -29,6 +38,7 @@ public final class FarmingPlugin extends JavaPlugin {
         instance = this;
         
         saveDefaultConfig();
+        settings = PluginSettings.load(getConfig());
         
         getLogger().info("═══════════════════════════════════════");
         getLogger().info("    Farming Plugin v1.0 - Starting");
@@ -47,6 +57,9 @@ public final class FarmingPlugin extends JavaPlugin {
             
             // Load online players data (for reload support)
             loadOnlinePlayersData();
+
+            // Auto-save and play time tracking
+            startScheduledTasks();
             
             // Start metrics if enabled
             if (getConfig().getBoolean("metrics.enabled", true)) {
@@ -56,9 +69,9 @@ public final class FarmingPlugin extends JavaPlugin {
             getLogger().info("╔════════════════════════════════════╗");
             getLogger().info("    Farming Plugin - Ready!");
             getLogger().info("    " + getServer().getOnlinePlayers().size() + " players loaded");
-            if (getConfig().getBoolean("test_mode.enabled", false)) {
+            if (settings.isTestModeEnabled()) {
                 getLogger().warning("    TEST MODE ENABLED - Farms grow in " +
-                                  getConfig().getInt("test_mode.growth_minutes", 1) + " minute(s)!");
+                                  settings.getTestModeGrowthMinutes() + " minute(s)!");
             }
             getLogger().info("╚════════════════════════════════════╝");
             
@@ -77,14 +90,18 @@ public final class FarmingPlugin extends JavaPlugin {
         getLogger().info("    Farming Plugin - Shutting down");
         getLogger().info("═══════════════════════════════════════");
         
-        // Save all online players data
-        if (plantationManager != null) {
-            getServer().getOnlinePlayers().forEach(player -> {
-                plantationManager.savePlayerData(player.getUniqueId());
-            });
+        // Drain queued database work and write everything still pending in one transaction
+        if (databaseManager != null) {
+            getLogger().info("Saving pending changes...");
+            long timeout = getConfig().getLong("database.shutdown_timeout_seconds", 10) * 1000L;
+            new ShutdownDrain(this).run(Math.max(1000L, timeout));
         }
         
         // Shutdown managers in correct order
+        if (blockEditQueue != null) {
+            blockEditQueue.shutdown();
+        }
+        
         if (offlineGrowthManager != null) {
             getLogger().info("Shutting down offline growth manager...");
             offlineGrowthManager.shutdown();
@@ -112,6 +129,7 @@ public final class FarmingPlugin extends JavaPlugin {
         databaseManager = new DatabaseManager(this);
         databaseManager.connect();
         databaseManager.createTables();
+        persistenceExecutor = new PersistenceExecutor(this, databaseManager);
         
         getLogger().info("✔ Database initialized successfully!");
     }
@@ -126,6 +144,16 @@ public final class FarmingPlugin extends JavaPlugin {
         getLogger().info("Initializing material system...");
         materialManager = new MaterialManager(this);
         getLogger().info("✔ Material system initialized!");
+
+        // Overflow Storage Manager
+        getLogger().info("Initializing overflow storage...");
+        overflowStorageManager = new OverflowStorageManager(this);
+        getLogger().info("✔ Overflow storage initialized!");
+
+        // Stats Manager
+        getLogger().info("Initializing statistics...");
+        statsManager = new StatsManager(this);
+        getLogger().info("✔ Statistics initialized!");
         
         // Economy Manager
         getLogger().info("Initializing economy integration...");
@@ -144,6 +172,7 @@ public final class FarmingPlugin extends JavaPlugin {
         
         // Plantation Area Manager
         getLogger().info("Initializing area manager...");
+        blockEditQueue = new BlockEditQueue(this);
         plantationAreaManager = new PlantationAreaManager(this);
         getLogger().info("✔ Area manager initialized!");
         
@@ -195,13 +224,13 @@ public final class FarmingPlugin extends JavaPlugin {
         // Load data for players already online (in case of reload)
         getServer().getOnlinePlayers().forEach(player -> {
             getLogger().info("Loading data for " + player.getName() + "...");
-            plantationManager.loadPlayerData(player.getUniqueId());
-            offlineGrowthManager.onPlayerJoin(player.getUniqueId());
+            plantationManager.loadPlayerData(player.getUniqueId())
+                .thenAccept(profile -> offlineGrowthManager.onPlayerJoin(player.getUniqueId()));
         });
     }
 
     private boolean checkHologramDependencies() {
-        // Holograms work with vanilla armor stands, no external dependencies needed
+        // Holograms use vanilla text displays, no external dependencies needed
         return true;
     }
 
@@ -213,12 +242,32 @@ public final class FarmingPlugin extends JavaPlugin {
     // Reload configuration
     public void reloadConfiguration() {
         reloadConfig();
+        // Swap in a new snapshot; readers see either the old or the new settings as a whole
+        settings = PluginSettings.load(getConfig());
         
-        // Reload manager configurations if needed
+        FruitType.reload(this);
+        if (plantationManager != null) {
+            plantationManager.reloadFarmConfigurations();
+        }
+        if (plantationAreaManager != null) {
+            plantationAreaManager.reloadTemplate();
+        }
+
+        // Repeating tasks keep the interval they were started with
         if (plantationManager != null) {
-            // Reload farm configurations
-            getLogger().info("Configuration reloaded!");
+            plantationManager.startFlushTask();
         }
+        if (statsManager != null) {
+            statsManager.startFlushTask();
+        }
+        if (hologramManager != null) {
+            hologramManager.startUpdateTask();
+        }
+        getLogger().info("Configuration reloaded!");
+    }
+
+    public PluginSettings getSettings() {
+        return settings;
     }
 
     // Getters for managers
@@ -226,6 +275,10 @@ public final class FarmingPlugin extends JavaPlugin {
         return databaseManager;
     }
 
+    public PersistenceExecutor getPersistenceExecutor() {
+        return persistenceExecutor;
+    }
+
     public MaterialManager getMaterialManager() {
         return materialManager;
     }
@@ -246,6 +299,10 @@ public final class FarmingPlugin extends JavaPlugin {
         return plantationAreaManager;
     }
 
+    public BlockEditQueue getBlockEditQueue() {
+        return blockEditQueue;
+    }
+
     public HologramManager getHologramManager() {
         return hologramManager;
     }
@@ -254,13 +311,21 @@ public final class FarmingPlugin extends JavaPlugin {
         return pouchIntegrationManager;
     }
 
+    public OverflowStorageManager getOverflowStorageManager() {
+        return overflowStorageManager;
+    }
+
+    public StatsManager getStatsManager() {
+        return statsManager;
+    }
+
     public static FarmingPlugin getInstance() {
         return instance;
     }
 
     // Utility methods
     public void debug(String message) {
-        if (getConfig().getBoolean("debug", false)) {
+        if (settings.isDebug()) {
             getLogger().info("[DEBUG] " + message);
         }
     }
@@ -268,7 +333,7 @@ public final class FarmingPlugin extends JavaPlugin {
     public void logError(String message, Exception e) {
         getLogger().log(Level.SEVERE, message, e);
         
-        if (getConfig().getBoolean("debug", false)) {
+        if (settings.isDebug()) {
             e.printStackTrace();
         }
     }
@@ -313,7 +378,7 @@ public final class FarmingPlugin extends JavaPlugin {
         // Statistics update task
         Bukkit.getScheduler().runTaskTimer(this, () -> {
             getServer().getOnlinePlayers().forEach(player -> {
-                databaseManager.updatePlayerStats(player.getUniqueId(), "play_time_minutes", 1);
+                statsManager.increment(player.getUniqueId(), StatsManager.Stat.PLAY_TIME_MINUTES, 1);
             });
         }, 20L * 60, 20L * 60); // Every minute
     }
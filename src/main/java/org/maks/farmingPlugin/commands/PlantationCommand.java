@@ -13,14 +13,19 @@ import org.bukkit.inventory.ItemStack;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
+import org.maks.farmingPlugin.gui.OverflowStorageGUI;
 import org.maks.farmingPlugin.gui.PlantationGUI;
 import org.maks.farmingPlugin.gui.PlayerSettingsGUI;
 import org.maks.farmingPlugin.gui.QuickSellGUI;
 import org.maks.farmingPlugin.gui.PlantationTeleportGUI;
 import org.maks.farmingPlugin.materials.MaterialType;
 import org.maks.farmingPlugin.managers.PlantationAreaManager;
+import org.maks.farmingPlugin.managers.StatsManager;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 public class PlantationCommand implements CommandExecutor, TabCompleter {
@@ -64,6 +69,7 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             case "list" -> listPlayerFarms(player);
             case "settings" -> openSettingsGUI(player);
             case "quicksell", "sell" -> openQuickSellGUI(player);
+            case "claim", "overflow" -> openOverflowStorageGUI(player);
             case "help" -> sendHelpMessage(player);
             
             // Admin commands
@@ -153,7 +159,42 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        PlantationAreaManager.PlantationArea area = plugin.getPlantationAreaManager().getOrCreateArea(player);
+        plugin.getPlantationAreaManager().getOrCreateArea(player).whenComplete((area, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof IllegalStateException) {
+                    player.sendMessage(ChatColor.RED + cause.getMessage() + "!");
+                } else {
+                    player.sendMessage(ChatColor.RED + "Could not prepare your plantation, please try again later.");
+                    plugin.getLogger().log(Level.SEVERE, "Could not allocate a plot for " + player.getName(), cause);
+                }
+                return;
+            }
+            if (!area.whenBuilt().isDone()) {
+                player.sendMessage(ChatColor.YELLOW + "Preparing your plantation...");
+            }
+            // Teleport once the plot blocks are in place
+            area.whenBuilt().whenComplete((ignored, buildError) -> sendToPlantation(player, area));
+        });
+        
+        // Load player data if not loaded
+        plugin.getPlantationManager().loadPlayerData(player.getUniqueId())
+            .thenAccept(profile -> plugin.getOfflineGrowthManager().onPlayerJoin(player.getUniqueId()));
+        
+        // Update cooldown
+        teleportCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+        
+        // Show tips for new players
+        if (plugin.getPlantationManager().getPlayerFarms(player.getUniqueId()).isEmpty()) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                player.sendMessage(ChatColor.YELLOW + "💡 TIP: Right-click on the Sweet Berry Bush to start your first farm!");
+                player.sendMessage(ChatColor.YELLOW + "💡 Each block represents a different farm type you can unlock!");
+            }, 40L);
+        }
+    }
+
+    private void sendToPlantation(Player player, PlantationAreaManager.PlantationArea area) {
+        if (!player.isOnline()) return;
         Location plantationLocation = area.getSpawnPoint();
         
         // Add particles at departure
@@ -173,21 +214,6 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             plantationLocation,
             30, 1, 1, 1, 0.1
         );
-
-        // Load player data if not loaded
-        plugin.getPlantationManager().loadPlayerData(player.getUniqueId());
-        plugin.getOfflineGrowthManager().onPlayerJoin(player.getUniqueId());
-        
-        // Update cooldown
-        teleportCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
-        
-        // Show tips for new players
-        if (plugin.getPlantationManager().getPlayerFarms(player.getUniqueId()).isEmpty()) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                player.sendMessage(ChatColor.YELLOW + "💡 TIP: Right-click on the Sweet Berry Bush to start your first farm!");
-                player.sendMessage(ChatColor.YELLOW + "💡 Each block represents a different farm type you can unlock!");
-            }, 40L);
-        }
     }
 
     private void showPlantationInfo(Player player) {
@@ -227,7 +253,7 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
                                      ChatColor.GRAY + " | Storage: " + storage);
                 }
             } else if (farmType == FarmType.BERRY_ORCHARDS || 
-                      plugin.getDatabaseManager().isFarmUnlocked(player.getUniqueId(), farmType.getId())) {
+                      plugin.getPlantationManager().isFarmUnlocked(player.getUniqueId(), farmType)) {
                 player.sendMessage(ChatColor.YELLOW + "▸ " + farmType.getDisplayName() + 
                                  ChatColor.DARK_GRAY + " (0/" + farmType.getMaxInstances() + ") - Available");
             } else {
@@ -247,48 +273,37 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(ChatColor.GOLD + "║       " + ChatColor.YELLOW + "DETAILED STATISTICS" + ChatColor.GOLD + "       ║");
         player.sendMessage(ChatColor.GOLD + "╚════════════════════════════════════╝");
         
-        try {
-            String sql = "SELECT * FROM farming_player_stats WHERE uuid = ?";
-            var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-            stmt.setString(1, player.getUniqueId().toString());
-            var rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                player.sendMessage(ChatColor.YELLOW + "General Stats:");
-                player.sendMessage(ChatColor.GRAY + "• Total Farms Created: " + ChatColor.WHITE + 
-                                 rs.getInt("total_farms_created"));
-                player.sendMessage(ChatColor.GRAY + "• Total Harvests: " + ChatColor.GREEN + 
-                                 String.format("%,d", rs.getLong("total_harvests")));
-                player.sendMessage(ChatColor.GRAY + "• Materials Collected: " + ChatColor.AQUA + 
-                                 String.format("%,d", rs.getLong("total_materials_collected")));
-                player.sendMessage(ChatColor.GRAY + "• Money Spent: " + ChatColor.GOLD + 
-                                 plugin.getEconomyManager().formatMoney(rs.getDouble("total_money_spent")));
-                player.sendMessage(ChatColor.GRAY + "• Money Earned: " + ChatColor.GOLD + 
-                                 plugin.getEconomyManager().formatMoney(rs.getDouble("total_money_earned")));
-                
-                int playMinutes = rs.getInt("play_time_minutes");
-                player.sendMessage(ChatColor.GRAY + "• Play Time: " + ChatColor.YELLOW + 
-                                 formatPlayTime(playMinutes));
-                
-                player.sendMessage("");
-                player.sendMessage(ChatColor.YELLOW + "Per-Farm Statistics:");
-                
-                List<FarmInstance> farms = plugin.getPlantationManager().getPlayerFarms(player.getUniqueId());
-                for (FarmInstance farm : farms) {
-                    player.sendMessage(ChatColor.GREEN + farm.getFarmType().getDisplayName() + " #" + 
-                                     farm.getInstanceId() + ":");
-                    player.sendMessage(ChatColor.GRAY + "  Harvests: " + farm.getTotalHarvests() + 
-                                     " | Produced: " + farm.getTotalMaterialsProduced());
-                }
-            } else {
-                player.sendMessage(ChatColor.GRAY + "No statistics available yet!");
-            }
+        StatsManager stats = plugin.getStatsManager();
+        UUID uuid = player.getUniqueId();
+        if (stats.hasStats(uuid)) {
+            player.sendMessage(ChatColor.YELLOW + "General Stats:");
+            player.sendMessage(ChatColor.GRAY + "• Total Farms Created: " + ChatColor.WHITE + 
+                             stats.get(uuid, StatsManager.Stat.FARMS_CREATED));
+            player.sendMessage(ChatColor.GRAY + "• Total Harvests: " + ChatColor.GREEN + 
+                             String.format("%,d", stats.get(uuid, StatsManager.Stat.HARVESTS)));
+            player.sendMessage(ChatColor.GRAY + "• Materials Collected: " + ChatColor.AQUA + 
+                             String.format("%,d", stats.get(uuid, StatsManager.Stat.MATERIALS_COLLECTED)));
+            player.sendMessage(ChatColor.GRAY + "• Money Spent: " + ChatColor.GOLD + 
+                             plugin.getEconomyManager().formatMoney(stats.getAmount(uuid, StatsManager.Stat.MONEY_SPENT)));
+            player.sendMessage(ChatColor.GRAY + "• Money Earned: " + ChatColor.GOLD + 
+                             plugin.getEconomyManager().formatMoney(stats.getAmount(uuid, StatsManager.Stat.MONEY_EARNED)));
+            
+            int playMinutes = (int) stats.get(uuid, StatsManager.Stat.PLAY_TIME_MINUTES);
+            player.sendMessage(ChatColor.GRAY + "• Play Time: " + ChatColor.YELLOW + 
+                             formatPlayTime(playMinutes));
             
-            rs.close();
-            stmt.close();
-        } catch (Exception e) {
-            player.sendMessage(ChatColor.RED + "Error loading statistics!");
-            plugin.getLogger().warning("Failed to load stats for " + player.getName() + ": " + e.getMessage());
+            player.sendMessage("");
+            player.sendMessage(ChatColor.YELLOW + "Per-Farm Statistics:");
+            
+            List<FarmInstance> farms = plugin.getPlantationManager().getPlayerFarms(uuid);
+            for (FarmInstance farm : farms) {
+                player.sendMessage(ChatColor.GREEN + farm.getFarmType().getDisplayName() + " #" + 
+                                 farm.getInstanceId() + ":");
+                player.sendMessage(ChatColor.GRAY + "  Harvests: " + farm.getTotalHarvests() + 
+                                 " | Produced: " + farm.getTotalMaterialsProduced());
+            }
+        } else {
+            player.sendMessage(ChatColor.GRAY + "No statistics available yet!");
         }
     }
 
@@ -321,6 +336,11 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
         player.openInventory(sellGui.getInventory());
     }
 
+    private void openOverflowStorageGUI(Player player) {
+        OverflowStorageGUI overflowGui = new OverflowStorageGUI(plugin, player);
+        player.openInventory(overflowGui.getInventory());
+    }
+
     private void reloadPlugin(Player player) {
         try {
             plugin.reloadConfiguration();
@@ -348,30 +368,44 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             targetUuid = Bukkit.getOfflinePlayer(targetName).getUniqueId();
         }
 
-        try {
-            // Clear from memory
-            plugin.getPlantationManager().getPlayerFarms(targetUuid).clear();
-            
-            // Clear from database
-            String[] tables = {"farming_player_plantations", "farming_plantation_storage", "farming_farm_anchors", 
-                              "farming_player_materials", "farming_player_stats", "farming_farm_unlocks"};
-            
+        // Clear from memory
+        plugin.getPlantationManager().clearPlayerData(targetUuid);
+        
+        // Clear from database
+        String[] tables = {"farming_player_plantations", "farming_plantation_storage", "farming_farm_anchors", 
+                          "farming_player_materials", "farming_player_stats", "farming_farm_unlocks",
+                          "farming_overflow_storage"};
+        
+        // Queued on the player's lane, so it runs after their pending writes and before the reload below
+        plugin.getPersistenceExecutor().supply(targetUuid, conn -> {
             for (String table : tables) {
                 String sql = "DELETE FROM " + table + " WHERE uuid = ?";
-                var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-                stmt.setString(1, targetUuid.toString());
-                stmt.executeUpdate();
-                stmt.close();
+                try (var stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, targetUuid.toString());
+                    stmt.executeUpdate();
+                }
+            }
+            // Free the plot slot for reuse; the player gets a plot again on their next visit
+            plugin.getPlantationAreaManager().releasePlot(conn, targetUuid);
+            return null;
+        }).whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (error != null) {
+                player.sendMessage(ChatColor.RED + "Error resetting plantation: " + error.getMessage());
+                plugin.getLogger().warning("Reset error: " + error.getMessage());
+                return;
             }
             
+            plugin.getPlantationAreaManager().removeArea(targetUuid);
             player.sendMessage(ChatColor.GREEN + "✔ Plantation reset for " + targetName + " completed!");
             
             if (target != null && target.isOnline()) {
                 target.sendMessage(ChatColor.YELLOW + "Your plantation has been reset by an administrator!");
             }
-        } catch (Exception e) {
-            player.sendMessage(ChatColor.RED + "Error resetting plantation: " + e.getMessage());
-            plugin.getLogger().warning("Reset error: " + e.getMessage());
+        }));
+        
+        // Reload the now empty model for online players
+        if (target != null && target.isOnline()) {
+            plugin.getPlantationManager().loadPlayerData(targetUuid);
         }
     }
 
@@ -385,6 +419,12 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
                          plugin.getEconomyManager().isEconomyEnabled());
         player.sendMessage(ChatColor.GRAY + "Hologram manager: " + ChatColor.WHITE + 
                          (plugin.getHologramManager() != null ? "Active" : "Inactive"));
+        player.sendMessage(ChatColor.GRAY + "Database queue: " + ChatColor.WHITE + 
+                         plugin.getPersistenceExecutor().getMetrics());
+        player.sendMessage(ChatColor.GRAY + "Pending plot builds: " + ChatColor.WHITE + 
+                         plugin.getBlockEditQueue().getPendingBatches());
+        player.sendMessage(ChatColor.GRAY + "Plot capacity: " + ChatColor.WHITE + 
+                         plugin.getPlantationAreaManager().getPlotCapacity());
         
         player.sendMessage("");
         player.sendMessage(ChatColor.YELLOW + "Farm Details:");
@@ -448,7 +488,9 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             }
             
             // Update database
-            plugin.getDatabaseManager().updatePlayerMaterial(target.getUniqueId(), materialId, tier, amount);
+            UUID targetUuid = target.getUniqueId();
+            plugin.getPersistenceExecutor().execute(targetUuid,
+                () -> plugin.getDatabaseManager().updatePlayerMaterial(targetUuid, materialId, tier, amount));
             
             player.sendMessage(ChatColor.GREEN + "✔ Gave " + amount + "x " + 
                              materialType.getDisplayName() + " Tier " + tier + " to " + target.getName());
@@ -492,6 +534,7 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
             
             farm.setLevel(level);
             plugin.getPlantationManager().savePlayerData(target.getUniqueId());
+            plugin.getOfflineGrowthManager().scheduleFarm(farm);
             
             player.sendMessage(ChatColor.GREEN + "✔ Set " + farmType.getDisplayName() + 
                              " #" + instanceId + " to level " + level);
@@ -577,34 +620,41 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(ChatColor.GOLD + "║        " + ChatColor.YELLOW + "TOP FARMERS" + ChatColor.GOLD + "              ║");
         player.sendMessage(ChatColor.GOLD + "╚════════════════════════════════════╝");
         
-        try {
+        // Ranking needs every player's totals, so it is read from the database off the main thread.
+        // Pending deltas are written first so the ranking includes recent activity
+        plugin.getStatsManager().flush().whenComplete((written, flushError) -> plugin.getPersistenceExecutor().execute(null, () -> {
+            List<String> lines = new ArrayList<>();
             String sql = "SELECT uuid, total_materials_collected FROM farming_player_stats " +
                         "ORDER BY total_materials_collected DESC LIMIT 10";
-            var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-            var rs = stmt.executeQuery();
-            
-            int position = 1;
-            while (rs.next()) {
-                UUID uuid = UUID.fromString(rs.getString("uuid"));
-                String name = Bukkit.getOfflinePlayer(uuid).getName();
-                long materials = rs.getLong("total_materials_collected");
-                
-                String prefix = position <= 3 ? 
-                    (position == 1 ? ChatColor.GOLD + "🥇" : 
-                     position == 2 ? ChatColor.GRAY + "🥈" : 
-                     ChatColor.YELLOW + "🥉") : ChatColor.WHITE + "#" + position;
-                
-                player.sendMessage(prefix + " " + ChatColor.WHITE + name + 
-                                 ChatColor.GRAY + " - " + ChatColor.GREEN + 
-                                 String.format("%,d", materials) + " materials");
-                position++;
+            try (var conn = plugin.getDatabaseManager().getConnection();
+                 var stmt = conn.prepareStatement(sql);
+                 var rs = stmt.executeQuery()) {
+                int position = 1;
+                while (rs.next()) {
+                    UUID uuid = UUID.fromString(rs.getString("uuid"));
+                    String name = Bukkit.getOfflinePlayer(uuid).getName();
+                    long materials = rs.getLong("total_materials_collected");
+                    
+                    String prefix = position <= 3 ? 
+                        (position == 1 ? ChatColor.GOLD + "🥇" : 
+                         position == 2 ? ChatColor.GRAY + "🥈" : 
+                         ChatColor.YELLOW + "🥉") : ChatColor.WHITE + "#" + position;
+                    
+                    lines.add(prefix + " " + ChatColor.WHITE + name + 
+                             ChatColor.GRAY + " - " + ChatColor.GREEN + 
+                             String.format("%,d", materials) + " materials");
+                    position++;
+                }
+            } catch (Exception e) {
+                lines.add(ChatColor.RED + "Error loading leaderboard!");
             }
             
-            rs.close();
-            stmt.close();
-        } catch (Exception e) {
-            player.sendMessage(ChatColor.RED + "Error loading leaderboard!");
-        }
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (player.isOnline()) {
+                    lines.forEach(player::sendMessage);
+                }
+            });
+        }));
     }
 
     private void sendHelpMessage(Player player) {
@@ -618,6 +668,7 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(ChatColor.GREEN + "/plantation stats" + ChatColor.GRAY + " - View detailed statistics");
         player.sendMessage(ChatColor.GREEN + "/plantation list" + ChatColor.GRAY + " - List all your farms");
         player.sendMessage(ChatColor.GREEN + "/plantation settings" + ChatColor.GRAY + " - Open settings menu");
+        player.sendMessage(ChatColor.GREEN + "/plantation claim" + ChatColor.GRAY + " - Claim items from overflow storage");
         player.sendMessage(ChatColor.GREEN + "/plantation top" + ChatColor.GRAY + " - View leaderboard");
         
         if (player.hasPermission("plantation.admin")) {
@@ -640,57 +691,79 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
     }
     
     private void performHardReset(Player player) {
-        try {
-            player.sendMessage(ChatColor.YELLOW + "Starting hard reset...");
-            
-            // Clear all in-memory data first
-            plugin.getPlantationManager().clearAllData();
-            
-            // Clear all database tables
-            String[] tables = {
-                "farming_player_plantations",
-                "farming_plantation_storage", 
-                "farming_farm_anchors",
-                "farming_player_materials",
-                "farming_player_stats",
-                "farming_farm_unlocks"
-            };
-            
+        player.sendMessage(ChatColor.YELLOW + "Starting hard reset...");
+        
+        // Clear all in-memory data first
+        plugin.getPlantationManager().clearAllData();
+        
+        // Clear all database tables
+        String[] tables = {
+            "farming_player_plantations",
+            "farming_plantation_storage", 
+            "farming_farm_anchors",
+            "farming_player_materials",
+            "farming_player_stats",
+            "farming_farm_unlocks",
+            "farming_overflow_storage"
+        };
+        
+        // Tables are cleared off the main thread once every lane is idle, so flushes queued
+        // before the reset can't bring rows back; the results are reported once all are done
+        plugin.getPersistenceExecutor().supplyExclusive(conn -> {
+            List<String> results = new ArrayList<>();
             for (String table : tables) {
-                try {
-                    String sql = "DELETE FROM " + table;
-                    var stmt = plugin.getDatabaseManager().prepareStatement(sql);
+                String sql = "DELETE FROM " + table;
+                try (var stmt = conn.prepareStatement(sql)) {
                     int deleted = stmt.executeUpdate();
-                    stmt.close();
-                    player.sendMessage(ChatColor.GRAY + "Cleared " + table + " (" + deleted + " records)");
+                    results.add(ChatColor.GRAY + "Cleared " + table + " (" + deleted + " records)");
                 } catch (Exception e) {
-                    player.sendMessage(ChatColor.RED + "Failed to clear " + table + ": " + e.getMessage());
+                    results.add(ChatColor.RED + "Failed to clear " + table + ": " + e.getMessage());
                 }
             }
-            
-            // Clear holograms if enabled
-            if (plugin.getHologramManager() != null) {
-                plugin.getHologramManager().cleanup();
-                player.sendMessage(ChatColor.GRAY + "Cleared all holograms");
-            }
-            
-            // Regenerate all plantation areas
-            player.sendMessage(ChatColor.YELLOW + "Regenerating plantation areas...");
+            return results;
+        }).whenComplete((results, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            // Reload the now empty model for online players, as a single reset does
             for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
-                plugin.getPlantationAreaManager().regeneratePlayerArea(onlinePlayer);
-                player.sendMessage(ChatColor.GRAY + "Regenerated plantation for " + onlinePlayer.getName());
+                plugin.getPlantationManager().loadPlayerData(onlinePlayer.getUniqueId());
+            }
+
+            if (error != null) {
+                player.sendMessage(ChatColor.RED + "Error during hard reset: " + error.getMessage());
+                plugin.getLogger().log(Level.SEVERE, "Hard reset error", error);
+                return;
+            }
+            results.forEach(player::sendMessage);
+            regenerateAfterHardReset(player);
+        }));
+    }
+
+    private void regenerateAfterHardReset(Player player) {
+        // Clear holograms if enabled
+        if (plugin.getHologramManager() != null) {
+            plugin.getHologramManager().cleanup();
+            player.sendMessage(ChatColor.GRAY + "Cleared all holograms");
+        }
+        
+        // Regenerate all plantation areas; the blocks are applied over the next ticks
+        player.sendMessage(ChatColor.YELLOW + "Regenerating plantation areas...");
+        List<CompletableFuture<Void>> rebuilds = new ArrayList<>();
+        for (Player onlinePlayer : Bukkit.getOnlinePlayers()) {
+            String name = onlinePlayer.getName();
+            rebuilds.add(plugin.getPlantationAreaManager().regeneratePlayerArea(onlinePlayer)
+                .thenRun(() -> player.sendMessage(ChatColor.GRAY + "Regenerated plantation for " + name)));
+        }
+        
+        // Also clear any offline player areas that might exist
+        plugin.getPlantationAreaManager().clearAllAreas();
+        
+        CompletableFuture.allOf(rebuilds.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                player.sendMessage(ChatColor.RED + "Some plantations could not be regenerated, see console.");
+                return;
             }
-            
-            // Also clear any offline player areas that might exist
-            plugin.getPlantationAreaManager().clearAllAreas();
-            
             player.sendMessage(ChatColor.GREEN + "✔ Hard reset completed successfully!");
             player.sendMessage(ChatColor.YELLOW + "All farming plugin data has been cleared and plantations regenerated.");
-            
-        } catch (Exception e) {
-            player.sendMessage(ChatColor.RED + "Error during hard reset: " + e.getMessage());
-            plugin.getLogger().severe("Hard reset error: " + e.getMessage());
-        }
+        });
     }
 
     @Override
@@ -702,7 +775,7 @@ public class PlantationCommand implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 1) {
-            List<String> subCommands = Arrays.asList("tp", "info", "stats", "list", "settings", "help", "top");
+            List<String> subCommands = Arrays.asList("tp", "info", "stats", "list", "settings", "claim", "help", "top");
             
             if (player.hasPermission("plantation.admin")) {
                 subCommands = new ArrayList<>(subCommands);
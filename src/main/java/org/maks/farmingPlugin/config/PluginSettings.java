@@ -0,0 +1,115 @@
+package org.maks.farmingPlugin.config;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * Immutable snapshot of config values read on hot paths. Built once on enable and
+ * replaced as a whole on reload, so callers read final fields instead of the Bukkit config.
+ */
+public final class PluginSettings {
+    private final boolean debug;
+    private final boolean testModeEnabled;
+    private final int testModeGrowthMinutes;
+
+    // Protection
+    private final boolean blockBuild;
+    private final boolean blockPvp;
+    private final boolean blockFarmBlocks;
+
+    // Teleport
+    private final boolean teleportRequireLevel;
+    private final int teleportMinimumLevel;
+
+    // Plot
+    private final boolean rebuildOnJoin;
+    private final Material pathMaterial;
+    private final double hologramYOffset;
+    private final int blocksPerTick;
+
+    // Intervals of the repeating tasks, restarted on reload
+    private final int flushIntervalSeconds;
+    private final int hologramUpdateSeconds;
+
+    private PluginSettings(FileConfiguration config) {
+        this.debug = config.getBoolean("debug", false);
+        this.testModeEnabled = config.getBoolean("test_mode.enabled", false);
+        this.testModeGrowthMinutes = Math.max(1, config.getInt("test_mode.growth_minutes", 1));
+
+        this.blockBuild = config.getBoolean("plantations.protection.block_build", true);
+        this.blockPvp = config.getBoolean("plantations.protection.block_pvp", false);
+        this.blockFarmBlocks = config.getBoolean("plantations.protection.block_farm_blocks", true);
+
+        this.teleportRequireLevel = config.getBoolean("teleport.require_level", true);
+        this.teleportMinimumLevel = config.getInt("teleport.minimum_level", 85);
+
+        this.rebuildOnJoin = config.getBoolean("plantation.rebuild_on_join", true);
+        Material path = Material.matchMaterial(config.getString("blocks.path", "DIRT_PATH"));
+        this.pathMaterial = path != null ? path : Material.DIRT_PATH;
+        this.hologramYOffset = config.getDouble("plantation.holograms.y_offset", 2.0);
+        this.blocksPerTick = Math.max(1, config.getInt("plantation.blocks_per_tick", 500));
+
+        this.flushIntervalSeconds = Math.max(5, config.getInt("auto_save.flush_interval_seconds", 30));
+        this.hologramUpdateSeconds = Math.max(5, config.getInt("plantations.holograms.update_interval", 60));
+    }
+
+    public static PluginSettings load(FileConfiguration config) {
+        return new PluginSettings(config);
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public boolean isTestModeEnabled() {
+        return testModeEnabled;
+    }
+
+    public int getTestModeGrowthMinutes() {
+        return testModeGrowthMinutes;
+    }
+
+    public boolean isBlockBuild() {
+        return blockBuild;
+    }
+
+    public boolean isBlockPvp() {
+        return blockPvp;
+    }
+
+    public boolean isBlockFarmBlocks() {
+        return blockFarmBlocks;
+    }
+
+    public boolean isTeleportRequireLevel() {
+        return teleportRequireLevel;
+    }
+
+    public int getTeleportMinimumLevel() {
+        return teleportMinimumLevel;
+    }
+
+    public boolean isRebuildOnJoin() {
+        return rebuildOnJoin;
+    }
+
+    public Material getPathMaterial() {
+        return pathMaterial;
+    }
+
+    public double getHologramYOffset() {
+        return hologramYOffset;
+    }
+
+    public int getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    public int getFlushIntervalSeconds() {
+        return flushIntervalSeconds;
+    }
+
+    public int getHologramUpdateSeconds() {
+        return hologramUpdateSeconds;
+    }
+}
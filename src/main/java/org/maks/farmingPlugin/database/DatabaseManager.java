@@ -1,22 +1,37 @@
 package org.maks.farmingPlugin.database;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
 import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.farms.StorageCodec;
 
+import java.lang.reflect.Type;
 import java.sql.*;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.logging.Level;
 
 public class DatabaseManager {
     private final FarmingPlugin plugin;
-    private Connection connection;
+    private volatile HikariDataSource dataSource;
 
     private String host, database, username, password;
     private int port;
 
+    // Pool settings
+    private int maximumPoolSize, minimumIdle;
+    private long connectionTimeout, idleTimeout, maxLifetime, leakDetectionThreshold;
+    private boolean cachePrepStmts, useServerPrepStmts;
+    private int prepStmtCacheSize, prepStmtCacheSqlLimit;
+
     public DatabaseManager(FarmingPlugin plugin) {
         this.plugin = plugin;
         loadDatabaseSettings();
@@ -35,66 +50,115 @@ public class DatabaseManager {
         username = plugin.getConfig().getString("database.user",
             plugin.getConfig().getString("database.username", "root"));
         password = plugin.getConfig().getString("database.password", "");
+
+        ConfigurationSection pool = plugin.getConfig().getConfigurationSection("database.pool");
+        if (pool == null) {
+            pool = plugin.getConfig().createSection("database.pool");
+        }
+        maximumPoolSize = Math.max(1, pool.getInt("maximum_pool_size", 10));
+        minimumIdle = Math.max(0, Math.min(maximumPoolSize, pool.getInt("minimum_idle", 2)));
+        connectionTimeout = pool.getLong("connection_timeout_ms", 5000L);
+        idleTimeout = pool.getLong("idle_timeout_ms", 600000L);
+        maxLifetime = pool.getLong("max_lifetime_ms", 1800000L);
+        leakDetectionThreshold = pool.getLong("leak_detection_threshold_ms", 0L);
+        cachePrepStmts = pool.getBoolean("cache_prep_stmts", true);
+        prepStmtCacheSize = pool.getInt("prep_stmt_cache_size", 250);
+        prepStmtCacheSqlLimit = pool.getInt("prep_stmt_cache_sql_limit", 2048);
+        useServerPrepStmts = pool.getBoolean("use_server_prep_stmts", true);
     }
 
     public void connect() {
-        try {
-            if (connection != null && !connection.isClosed()) {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (dataSource != null && !dataSource.isClosed()) {
                 return;
             }
 
-            synchronized (this) {
-                if (connection != null && !connection.isClosed()) {
-                    return;
-                }
-
+            try {
                 // Try relocated driver first, then fall back to original
+                String driverClass;
                 try {
                     Class.forName("org.maks.farmingPlugin.libs.mysql.cj.jdbc.Driver");
+                    driverClass = "org.maks.farmingPlugin.libs.mysql.cj.jdbc.Driver";
                     plugin.getLogger().info("Using relocated MySQL driver");
                 } catch (ClassNotFoundException e) {
                     plugin.getLogger().warning("Relocated MySQL driver not found, trying original...");
                     Class.forName("com.mysql.cj.jdbc.Driver");
+                    driverClass = "com.mysql.cj.jdbc.Driver";
                     plugin.getLogger().info("Using original MySQL driver");
                 }
-                
-                String jdbcUrl = "jdbc:mysql://" + host + ":" + port + "/" + database + 
-                    "?useSSL=false&serverTimezone=UTC&autoReconnect=true";
+
+                String jdbcUrl = "jdbc:mysql://" + host + ":" + port + "/" + database +
+                    "?useSSL=false&serverTimezone=UTC";
                 plugin.getLogger().info("Connecting to database: " + host + ":" + port + "/" + database);
-                
-                connection = DriverManager.getConnection(jdbcUrl, username, password);
-                
-                // Enable auto-reconnect
-                connection.setAutoCommit(true);
-                
-                plugin.getLogger().info("Successfully connected to MySQL database!");
+
+                HikariConfig config = new HikariConfig();
+                config.setPoolName("FarmingPlugin-Pool");
+                config.setDriverClassName(driverClass);
+                config.setJdbcUrl(jdbcUrl);
+                config.setUsername(username);
+                config.setPassword(password);
+                config.setAutoCommit(true);
+
+                config.setMaximumPoolSize(maximumPoolSize);
+                config.setMinimumIdle(minimumIdle);
+                config.setConnectionTimeout(connectionTimeout);
+                config.setIdleTimeout(idleTimeout);
+                config.setMaxLifetime(maxLifetime);
+                if (leakDetectionThreshold > 0) {
+                    config.setLeakDetectionThreshold(leakDetectionThreshold);
+                }
+
+                // MySQL driver-side statement caching
+                config.addDataSourceProperty("cachePrepStmts", cachePrepStmts);
+                config.addDataSourceProperty("prepStmtCacheSize", prepStmtCacheSize);
+                config.addDataSourceProperty("prepStmtCacheSqlLimit", prepStmtCacheSqlLimit);
+                config.addDataSourceProperty("useServerPrepStmts", useServerPrepStmts);
+                config.addDataSourceProperty("useLocalSessionState", true);
+                config.addDataSourceProperty("rewriteBatchedStatements", true);
+                config.addDataSourceProperty("cacheResultSetMetadata", true);
+                config.addDataSourceProperty("cacheServerConfiguration", true);
+                config.addDataSourceProperty("elideSetAutoCommits", true);
+                config.addDataSourceProperty("maintainTimeStats", false);
+
+                dataSource = new HikariDataSource(config);
+
+                plugin.getLogger().info("Successfully connected to MySQL database! (pool size: " +
+                    maximumPoolSize + ")");
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Could not connect to MySQL database!", e);
             }
-        } catch (SQLException | ClassNotFoundException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not connect to MySQL database!", e);
         }
     }
 
     public void disconnect() {
-        if (connection != null) {
-            try {
-                connection.close();
-                plugin.getLogger().info("Disconnected from MySQL database!");
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not disconnect from MySQL database!", e);
-            }
+        HikariDataSource source = dataSource;
+        if (source != null && !source.isClosed()) {
+            source.close();
+            plugin.getLogger().info("Disconnected from MySQL database!");
         }
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed() || !connection.isValid(1)) {
-                connect();
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not check connection status!", e);
+    public boolean isConnected() {
+        HikariDataSource source = dataSource;
+        return source != null && source.isRunning();
+    }
+
+    /**
+     * Borrows a connection from the pool. Callers must close it (try-with-resources)
+     * so it is returned to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (dataSource == null || dataSource.isClosed()) {
             connect();
         }
-        return connection;
+        if (dataSource == null) {
+            throw new SQLException("Database pool is not available");
+        }
+        return dataSource.getConnection();
     }
 
     public void createTables() {
@@ -141,7 +205,7 @@ public class DatabaseManager {
                 uuid VARCHAR(36) NOT NULL,
                 farm_type VARCHAR(50) NOT NULL,
                 instance_id INT NOT NULL,
-                stored_materials_json TEXT,
+                stored_materials VARBINARY(255),
                 auto_collect BOOLEAN DEFAULT FALSE,
                 updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                 INDEX idx_uuid (uuid),
@@ -163,6 +227,19 @@ public class DatabaseManager {
             ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
             """;
 
+        // Plot grid slots; a row with no uuid and no reservation is free for reuse.
+        // reserved_for marks cells covered by an off-grid plot of that player
+        String plotSlotsTable = """
+            CREATE TABLE IF NOT EXISTS farming_plot_slots (
+                slot_index INT PRIMARY KEY,
+                uuid VARCHAR(36) NULL,
+                reserved_for VARCHAR(36) NULL,
+                claimed_at TIMESTAMP NULL,
+                UNIQUE KEY unique_owner (uuid),
+                INDEX idx_reserved (reserved_for)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+            """;
+
         // Farm anchors (exact positions of farms)
         String farmAnchorsTable = """
             CREATE TABLE IF NOT EXISTS farming_farm_anchors (
@@ -256,21 +333,41 @@ public class DatabaseManager {
             ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
             """;
 
-        try (Statement stmt = getConnection().createStatement()) {
+        // Harvest items that did not fit into the player's inventory
+        String overflowStorageTable = """
+            CREATE TABLE IF NOT EXISTS farming_overflow_storage (
+                uuid VARCHAR(36) NOT NULL,
+                item_key VARCHAR(64) NOT NULL,
+                amount INT NOT NULL DEFAULT 0,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                PRIMARY KEY (uuid, item_key)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+            """;
+
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
             // Execute all table creation statements
             stmt.executeUpdate(playerPlantationsTable);
             stmt.executeUpdate(playerMaterialsTable);
             stmt.executeUpdate(plantationStorageTable);
             stmt.executeUpdate(playerPlotsTable);
+            stmt.executeUpdate(plotSlotsTable);
             stmt.executeUpdate(farmAnchorsTable);
             stmt.executeUpdate(farmUpgradesTable);
             stmt.executeUpdate(playerStatsTable);
             stmt.executeUpdate(harvestLogTable);
             stmt.executeUpdate(farmUnlocksTable);
             stmt.executeUpdate(playerSettingsTable);
+            stmt.executeUpdate(overflowStorageTable);
             
             plugin.getLogger().info("All database tables created successfully!");
 
+            migrateStorageEncoding(conn);
+            if (!hasColumn(conn, "farming_plot_slots", "reserved_for")) {
+                stmt.executeUpdate("ALTER TABLE farming_plot_slots ADD COLUMN reserved_for VARCHAR(36) NULL AFTER uuid, " +
+                                   "ADD INDEX idx_reserved (reserved_for)");
+            }
+
             // Create stored procedures for complex operations
             createStoredProcedures();
             
@@ -279,6 +376,87 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Convert farm storage from the old JSON text column to the binary encoding. Only rows not
+     * yet converted are read; the old column is kept for one release as a backup.
+     */
+    private void migrateStorageEncoding(Connection conn) throws SQLException {
+        if (!hasColumn(conn, "farming_plantation_storage", "stored_materials_json")) {
+            return;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            if (!hasColumn(conn, "farming_plantation_storage", "stored_materials")) {
+                stmt.executeUpdate("ALTER TABLE farming_plantation_storage " +
+                                   "ADD COLUMN stored_materials VARBINARY(255) AFTER instance_id");
+            }
+        }
+
+        Gson gson = new Gson();
+        Type type = new TypeToken<Map<String, Integer>>(){}.getType();
+        String selectSql = "SELECT id, stored_materials_json FROM farming_plantation_storage " +
+                           "WHERE stored_materials IS NULL";
+        String updateSql = "UPDATE farming_plantation_storage SET stored_materials = ? WHERE id = ?";
+
+        int converted = 0;
+        int discarded = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement update = conn.prepareStatement(updateSql);
+             ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+                Map<String, Integer> materials = null;
+                String json = rs.getString("stored_materials_json");
+                if (json != null && !json.isEmpty()) {
+                    try {
+                        materials = gson.fromJson(json, type);
+                    } catch (JsonParseException e) {
+                        plugin.getLogger().warning("Dropping unreadable stored materials of storage row " +
+                                                   rs.getInt("id") + ": " + e.getMessage());
+                        discarded++;
+                    }
+                }
+                if (materials != null) {
+                    for (Map.Entry<String, Integer> entry : materials.entrySet()) {
+                        if (StorageCodec.slotOf(entry.getKey()) < 0 && entry.getValue() != null && entry.getValue() > 0) {
+                            plugin.getLogger().warning("Dropping unknown stored material '" + entry.getKey() + "' x" +
+                                                       entry.getValue() + " of storage row " + rs.getInt("id"));
+                            discarded++;
+                        }
+                    }
+                }
+                int[] slots = materials != null ? StorageCodec.fromLegacy(materials) : new int[StorageCodec.SLOTS];
+
+                update.setBytes(1, StorageCodec.encode(slots));
+                update.setInt(2, rs.getInt("id"));
+                update.addBatch();
+                converted++;
+            }
+            update.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        if (converted > 0) {
+            // stored_materials_json is left in place so discarded entries can still be recovered;
+            // drop it in a later release
+            plugin.getLogger().info("Migrated " + converted + " farm storage row(s) to the binary format" +
+                    (discarded > 0 ? ", " + discarded + " unreadable or unknown entries discarded" : "") +
+                    "; the old stored_materials_json column is kept as a backup");
+        }
+    }
+
+    private boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
     private void createStoredProcedures() {
         // Stored procedure to get player's total material count
         String getMaterialCountProc = """
@@ -319,7 +497,8 @@ public class DatabaseManager {
             END
             """;
 
-        try (Statement stmt = getConnection().createStatement()) {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
             stmt.execute("DROP PROCEDURE IF EXISTS GetPlayerMaterialCount");
             stmt.execute(getMaterialCountProc);
             
@@ -332,33 +511,31 @@ public class DatabaseManager {
         }
     }
 
-    public PreparedStatement prepareStatement(String sql) throws SQLException {
-        return getConnection().prepareStatement(sql);
-    }
-
     // Player plot management
-    public void savePlayerPlot(UUID uuid, String world, int x, int y, int z) {
+
+    /**
+     * Record a player's plot in the caller's transaction
+     */
+    public void savePlayerPlot(Connection conn, UUID uuid, String world, int x, int y, int z) throws SQLException {
         String sql = "INSERT INTO farming_player_plots (uuid, world, origin_x, origin_y, origin_z) " +
                     "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
                     "world = VALUES(world), origin_x = VALUES(origin_x), " +
                     "origin_y = VALUES(origin_y), origin_z = VALUES(origin_z)";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setString(2, world);
             ps.setInt(3, x);
             ps.setInt(4, y);
             ps.setInt(5, z);
             ps.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not save player plot", e);
         }
     }
 
-    public Optional<Location> loadPlayerPlot(UUID uuid) {
+    public Optional<Location> loadPlayerPlot(Connection conn, UUID uuid) throws SQLException {
         String sql = "SELECT world, origin_x, origin_y, origin_z FROM farming_player_plots WHERE uuid = ?";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             
             try (ResultSet rs = ps.executeQuery()) {
@@ -374,33 +551,18 @@ public class DatabaseManager {
                     }
                 }
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not load player plot", e);
         }
         
         return Optional.empty();
     }
 
-    // Player statistics
-    public void updatePlayerStats(UUID uuid, String statType, long value) {
-        String sql = "INSERT INTO farming_player_stats (uuid, " + statType + ") VALUES (?, ?) " +
-                    "ON DUPLICATE KEY UPDATE " + statType + " = " + statType + " + VALUES(" + statType + ")";
-        
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setString(1, uuid.toString());
-            ps.setLong(2, value);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Could not update player stats: " + e.getMessage());
-        }
-    }
-
     // Player settings
     public void savePlayerSetting(UUID uuid, String setting, Object value) {
         String sql = "INSERT INTO farming_player_settings (uuid, " + setting + ") VALUES (?, ?) " +
                     "ON DUPLICATE KEY UPDATE " + setting + " = VALUES(" + setting + ")";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setObject(2, value);
             ps.executeUpdate();
@@ -412,7 +574,8 @@ public class DatabaseManager {
     public boolean getPlayerBooleanSetting(UUID uuid, String setting, boolean defaultValue) {
         String sql = "SELECT " + setting + " FROM farming_player_settings WHERE uuid = ?";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             
             try (ResultSet rs = ps.executeQuery()) {
@@ -429,23 +592,30 @@ public class DatabaseManager {
 
     // Material management
     public int getPlayerMaterialAmount(UUID uuid, String materialType, int tier) {
+        try (Connection conn = getConnection()) {
+            return getPlayerMaterialAmount(conn, uuid, materialType, tier);
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Could not get material amount: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+
+    /**
+     * Read a stored material amount over the caller's connection
+     */
+    public int getPlayerMaterialAmount(Connection conn, UUID uuid, String materialType, int tier) throws SQLException {
         String sql = "SELECT amount FROM farming_player_materials WHERE uuid = ? AND material_type = ? AND tier = ?";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setString(2, materialType);
             ps.setInt(3, tier);
             
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("amount");
-                }
+                return rs.next() ? rs.getInt("amount") : 0;
             }
-        } catch (SQLException e) {
-            plugin.getLogger().warning("Could not get material amount: " + e.getMessage());
         }
-        
-        return 0;
     }
 
     public void updatePlayerMaterial(UUID uuid, String materialType, int tier, int amount) {
@@ -454,7 +624,8 @@ public class DatabaseManager {
                     "amount = amount + VALUES(amount), " +
                     "total_collected = total_collected + IF(VALUES(amount) > 0, VALUES(amount), 0)";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setString(2, materialType);
             ps.setInt(3, tier);
@@ -471,7 +642,8 @@ public class DatabaseManager {
         String sql = "INSERT INTO farming_farm_unlocks (uuid, farm_type, unlock_cost, materials_used_json) " +
                     "VALUES (?, ?, ?, ?)";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setString(2, farmType);
             ps.setDouble(3, cost);
@@ -485,7 +657,8 @@ public class DatabaseManager {
     public boolean isFarmUnlocked(UUID uuid, String farmType) {
         String sql = "SELECT 1 FROM farming_farm_unlocks WHERE uuid = ? AND farm_type = ?";
         
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, uuid.toString());
             ps.setString(2, farmType);
             
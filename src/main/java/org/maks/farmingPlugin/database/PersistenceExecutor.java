@@ -0,0 +1,281 @@
+package org.maks.farmingPlugin.database;
+
+import org.maks.farmingPlugin.FarmingPlugin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated executor for database work. Tasks run on a small set of single-threaded lanes;
+ * tasks for the same player always go to the same lane, so one player's writes never reorder.
+ * Each lane has a bounded queue: when it is full the task is rejected and its future fails
+ * instead of queueing without limit.
+ */
+public class PersistenceExecutor {
+
+    @FunctionalInterface
+    public interface SqlFunction<T> {
+        T apply(Connection conn) throws SQLException;
+    }
+
+    // Minimum time between two rejection warnings
+    private static final long REJECTION_WARN_INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+    private final FarmingPlugin plugin;
+    private final DatabaseManager database;
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    // Backpressure metrics
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger peakQueued = new AtomicInteger();
+    private final AtomicLong lastRejectionWarning = new AtomicLong();
+
+    public PersistenceExecutor(FarmingPlugin plugin, DatabaseManager database) {
+        this.plugin = plugin;
+        this.database = database;
+
+        int threads = Math.max(1, plugin.getConfig().getInt("database.persistence.threads", 2));
+        int capacity = Math.max(16, plugin.getConfig().getInt("database.persistence.queue_capacity", 1000));
+
+        this.lanes = new ThreadPoolExecutor[threads];
+        for (int i = 0; i < threads; i++) {
+            String name = "FarmingPlugin-DB-" + (i + 1);
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), r -> {
+                        Thread thread = new Thread(r, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * Run work with a pooled connection. The connection is closed when the work returns.
+     *
+     * @param key player the work belongs to, or null for work that has no ordering requirement
+     */
+    public <T> CompletableFuture<T> supply(UUID key, SqlFunction<T> work) {
+        return submit(key, work, () -> {
+            try (Connection conn = database.getConnection()) {
+                return work.apply(conn);
+            }
+        });
+    }
+
+    /**
+     * Run a task that manages its own database access, such as an existing DAO call
+     *
+     * @param key player the work belongs to, or null for work that has no ordering requirement
+     */
+    public CompletableFuture<Void> execute(UUID key, Runnable task) {
+        return submit(key, task, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run work while every lane is idle: it starts once all work queued before this call has
+     * finished, and no lane runs anything else until it returns. Used for table-wide changes
+     * that queued per-player writes must not interleave with.
+     */
+    public <T> CompletableFuture<T> supplyExclusive(SqlFunction<T> work) {
+        CountDownLatch arrived = new CountDownLatch(lanes.length);
+        CompletableFuture<Void> finished = new CompletableFuture<>();
+
+        // Every other lane parks until the work has finished
+        for (int i = 1; i < lanes.length; i++) {
+            CompletableFuture<Void> parked = submitTo(lanes[i], null, work, () -> {
+                arrived.countDown();
+                finished.get();
+                return null;
+            });
+            if (parked.isCompletedExceptionally()) {
+                finished.complete(null);
+                return parked.thenApply(ignored -> null);
+            }
+        }
+
+        CompletableFuture<T> result = submitTo(lanes[0], null, work, () -> {
+            try {
+                arrived.countDown();
+                arrived.await();
+                try (Connection conn = database.getConnection()) {
+                    return work.apply(conn);
+                }
+            } finally {
+                finished.complete(null);
+            }
+        });
+        if (result.isCompletedExceptionally()) {
+            finished.complete(null);
+        }
+        return result;
+    }
+
+    private <T> CompletableFuture<T> submit(UUID key, Object source, Callable<T> work) {
+        return submitTo(laneFor(key), key, source, work);
+    }
+
+    private <T> CompletableFuture<T> submitTo(ThreadPoolExecutor lane, UUID key, Object source, Callable<T> work) {
+        Task<T> task = new Task<>(key, source, work);
+        try {
+            lane.execute(task);
+            submitted.increment();
+            peakQueued.accumulateAndGet(lane.getQueue().size(), Math::max);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            warnRejected();
+            task.future.completeExceptionally(e);
+        }
+        return task.future;
+    }
+
+    /**
+     * Queued work with the caller's task kept for logging if it has to be dropped
+     */
+    private final class Task<T> implements Runnable {
+        private final UUID key;
+        private final Object source;
+        private final Callable<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Task(UUID key, Object source, Callable<T> work) {
+            this.key = key;
+            this.source = source;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(work.call());
+                completed.increment();
+            } catch (Throwable t) {
+                failed.increment();
+                future.completeExceptionally(t);
+            }
+        }
+
+        private void drop() {
+            dropped.increment();
+            plugin.getLogger().warning("Dropped queued database task " + this + " at shutdown");
+            future.completeExceptionally(new CancellationException("Database task dropped at shutdown"));
+        }
+
+        @Override
+        public String toString() {
+            // Lambdas are named after the class that created them
+            String name = source.getClass().getName();
+            int lambda = name.indexOf("$$Lambda");
+            return (lambda >= 0 ? name.substring(0, lambda) : name) +
+                   (key != null ? " for " + key : "");
+        }
+    }
+
+    private ThreadPoolExecutor laneFor(UUID key) {
+        int index = key != null
+                ? laneIndex(key)
+                : Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+        return lanes[index];
+    }
+
+    private int laneIndex(UUID key) {
+        return Math.floorMod(key.hashCode(), lanes.length);
+    }
+
+    /**
+     * Split per-player work by the lane it runs on. A part submitted with any of its players
+     * as the key stays ordered with the rest of their work.
+     */
+    public <V> Collection<Map<UUID, V>> partitionByLane(Map<UUID, V> byPlayer) {
+        Map<Integer, Map<UUID, V>> parts = new HashMap<>();
+        byPlayer.forEach((uuid, value) -> parts.computeIfAbsent(laneIndex(uuid), k -> new HashMap<>()).put(uuid, value));
+        return parts.values();
+    }
+
+    private void warnRejected() {
+        long now = System.currentTimeMillis();
+        long last = lastRejectionWarning.get();
+        if (now - last >= REJECTION_WARN_INTERVAL && lastRejectionWarning.compareAndSet(last, now)) {
+            plugin.getLogger().warning("Database queue is full, rejecting work (" + getMetrics() + ")");
+        }
+    }
+
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    public long getRejectedTasks() {
+        return rejected.sum();
+    }
+
+    public String getMetrics() {
+        return "queued=" + getQueuedTasks() + ", peak=" + peakQueued.get() +
+               ", submitted=" + submitted.sum() + ", completed=" + completed.sum() +
+               ", failed=" + failed.sum() + ", rejected=" + rejected.sum() + ", dropped=" + dropped.sum();
+    }
+
+    /**
+     * Stop accepting work and wait for queued work to finish. Work that is still queued
+     * afterwards keeps running until {@link #shutdownNow()}.
+     *
+     * @return whether all queued work finished before the timeout
+     */
+    public boolean awaitDrain(long timeoutMillis) {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        boolean drained = true;
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                drained &= lane.awaitTermination(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Drop all work that is still queued. Each dropped task is logged and its future fails,
+     * so callers that restore their changes on failure get them back.
+     *
+     * @return number of tasks dropped
+     */
+    public int shutdownNow() {
+        int abandoned = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            for (Runnable task : lane.shutdownNow()) {
+                abandoned++;
+                if (task instanceof Task<?> queued) {
+                    queued.drop();
+                } else {
+                    plugin.getLogger().warning("Dropped queued database task " + task + " at shutdown");
+                }
+            }
+        }
+        return abandoned;
+    }
+}
@@ -0,0 +1,119 @@
+package org.maks.farmingPlugin.database;
+
+import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.farms.FarmInstance;
+import org.maks.farmingPlugin.managers.OverflowStorageManager;
+import org.maks.farmingPlugin.managers.PlantationManager;
+import org.maks.farmingPlugin.managers.StatsManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.logging.Level;
+
+/**
+ * Final write path used while the plugin disables. New background flushes are stopped and
+ * queued database work gets part of the time budget to finish. Whatever is still queued is
+ * then dropped, so no older flush can commit after the final write, and everything pending
+ * is written synchronously in one transaction before the pool is closed.
+ */
+public class ShutdownDrain {
+    private final FarmingPlugin plugin;
+
+    public ShutdownDrain(FarmingPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void run(long timeoutMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+
+        // Stop intake so nothing new is queued behind the final flush
+        PlantationManager plantationManager = plugin.getPlantationManager();
+        if (plantationManager != null) {
+            plantationManager.stopIntake();
+        }
+
+        // Let queued work finish, keeping at least half of the budget for the final write
+        PersistenceExecutor executor = plugin.getPersistenceExecutor();
+        if (executor != null && !executor.awaitDrain(timeoutMillis / 2)) {
+            // Queued flushes carry older snapshots and must not commit after the final write,
+            // so drop them; their changes are put back and saved below
+            int abandoned = executor.shutdownNow();
+            if (abandoned > 0) {
+                plugin.getLogger().warning(abandoned + " queued database task(s) did not finish in time, saving their changes in the final write");
+            }
+            // Wait for the tasks already running, still keeping half of what is left
+            if (!executor.awaitDrain(Math.max(0, deadline - System.currentTimeMillis()) / 2)) {
+                plugin.getLogger().warning("Database tasks still running; their writes may land after the final save");
+            }
+        }
+
+        writePending(start, deadline);
+    }
+
+    private void writePending(long start, long deadline) {
+        PlantationManager plantationManager = plugin.getPlantationManager();
+        StatsManager statsManager = plugin.getStatsManager();
+        OverflowStorageManager overflowStorageManager = plugin.getOverflowStorageManager();
+
+        List<FarmInstance.Snapshot> farms = plantationManager != null
+                ? plantationManager.drainDirtyFarms() : Collections.emptyList();
+        Map<UUID, long[]> stats = statsManager != null
+                ? statsManager.drainDeltas() : Collections.emptyMap();
+        Map<UUID, Set<String>> overflow = overflowStorageManager != null
+                ? overflowStorageManager.drainChanges() : Collections.emptyMap();
+
+        if (farms.isEmpty() && stats.isEmpty() && overflow.isEmpty()) {
+            plugin.getLogger().info("No pending changes to save");
+            return;
+        }
+
+        int pendingOverflow = 0;
+        for (Set<String> keys : overflow.values()) {
+            pendingOverflow += keys.size();
+        }
+
+        DatabaseManager database = plugin.getDatabaseManager();
+        if (database == null) {
+            plugin.getLogger().severe("Database unavailable, discarding " + describe(farms.size(), stats.size(), pendingOverflow));
+            return;
+        }
+
+        int queryTimeoutSeconds = (int) Math.max(1, (deadline - System.currentTimeMillis() + 999) / 1000);
+        int overflowEntries = 0;
+        try (Connection conn = database.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                if (plantationManager != null) {
+                    plantationManager.writeFarms(conn, farms, queryTimeoutSeconds);
+                }
+                if (statsManager != null) {
+                    statsManager.writeDeltas(conn, stats, queryTimeoutSeconds);
+                }
+                if (overflowStorageManager != null) {
+                    overflowEntries = overflowStorageManager.writeChanges(conn, overflow, queryTimeoutSeconds);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Final save failed, lost " +
+                    describe(farms.size(), stats.size(), pendingOverflow), e);
+            return;
+        }
+
+        plugin.getLogger().info("Saved " + describe(farms.size(), stats.size(), overflowEntries) +
+                " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private String describe(int farms, int statPlayers, int overflowEntries) {
+        return farms + " farm(s), stats of " + statPlayers + " player(s) and " +
+               overflowEntries + " overflow entr" + (overflowEntries == 1 ? "y" : "ies");
+    }
+}
@@ -0,0 +1,74 @@
+package org.maks.farmingPlugin.farms;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiled rare drop table of one farm type. Per-cycle chances for every farm level are
+ * computed once when the table is loaded, so a harvest only looks them up.
+ */
+public final class DropTable {
+    public static final int MAX_LEVEL = 10;
+
+    private static final DropTable EMPTY = new DropTable(Collections.emptyList());
+
+    private final List<MaterialDrop> drops;
+    // Indexed by level - 1
+    private final double[][] chances;
+    private final double[] anyDropChances;
+
+    public DropTable(List<MaterialDrop> drops) {
+        this.drops = List.copyOf(drops);
+        this.chances = new double[MAX_LEVEL][];
+        this.anyDropChances = new double[MAX_LEVEL];
+
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            double multiplier = levelMultiplier(level);
+            double[] levelChances = new double[this.drops.size()];
+            double noDrop = 1.0;
+            for (int i = 0; i < levelChances.length; i++) {
+                levelChances[i] = Math.min(1.0, Math.max(0.0, this.drops.get(i).getRate() * multiplier / 100.0));
+                noDrop *= 1.0 - levelChances[i];
+            }
+            chances[level - 1] = levelChances;
+            anyDropChances[level - 1] = 1.0 - noDrop;
+        }
+    }
+
+    public static DropTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Multiplier a farm level applies to fruit amounts and drop chances
+     */
+    public static double levelMultiplier(int level) {
+        return 1.0 + (level - 1) * 0.2;
+    }
+
+    public List<MaterialDrop> getDrops() {
+        return drops;
+    }
+
+    public int size() {
+        return drops.size();
+    }
+
+    /**
+     * Per-cycle probability of each drop at the given level. The array is shared; do not modify it.
+     */
+    public double[] getChances(int level) {
+        return chances[clamp(level) - 1];
+    }
+
+    /**
+     * Probability that a cycle yields at least one drop at the given level
+     */
+    public double getAnyDropChance(int level) {
+        return anyDropChances[clamp(level) - 1];
+    }
+
+    private static int clamp(int level) {
+        return Math.max(1, Math.min(level, MAX_LEVEL));
+    }
+}
@@ -4,9 +4,11 @@ import org.bukkit.Location;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.materials.MaterialType;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class FarmInstance {
     private final UUID ownerId;
@@ -16,7 +18,10 @@ public class FarmInstance {
     private int level;
     private int efficiency;
     private long lastHarvest;
-    private final Map<String, Integer> storedMaterials;
+
+    // Stored amounts indexed by StorageCodec slot, with a running total
+    private final int[] storedMaterials;
+    private int totalStored;
     
     // Additional stats
     private int totalHarvests;
@@ -33,6 +38,12 @@ public class FarmInstance {
     private boolean autoCollectEnabled;
     private boolean notificationsEnabled;
 
+    // Persistence state - set on every persisted change, cleared by the write-behind flusher
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Cached result of getAdjustedGrowthTime, 0 when it needs recomputing
+    private long adjustedGrowthTime;
+
     public FarmInstance(UUID ownerId, FarmType farmType, int instanceId) {
         this.ownerId = ownerId;
         this.farmType = farmType;
@@ -40,7 +51,7 @@ public class FarmInstance {
         this.level = 1;
         this.efficiency = 1;
         this.lastHarvest = System.currentTimeMillis();
-        this.storedMaterials = new HashMap<>();
+        this.storedMaterials = new int[StorageCodec.SLOTS];
         this.totalHarvests = 0;
         this.exp = 0;
         this.totalMaterialsProduced = 0;
@@ -50,17 +61,25 @@ public class FarmInstance {
         this.qualityUpgradeLevel = 0;
         this.autoCollectEnabled = false;
         this.notificationsEnabled = true;
+        this.dirty.set(true);
     }
 
     public FarmInstance(UUID ownerId, FarmType farmType, int instanceId, int level, 
-                       int efficiency, long lastHarvest, Map<String, Integer> storedMaterials) {
+                       int efficiency, long lastHarvest, int[] storedMaterials) {
         this.ownerId = ownerId;
         this.farmType = farmType;
         this.instanceId = instanceId;
         this.level = level;
         this.efficiency = efficiency;
         this.lastHarvest = lastHarvest;
-        this.storedMaterials = storedMaterials != null ? new HashMap<>(storedMaterials) : new HashMap<>();
+        this.storedMaterials = new int[StorageCodec.SLOTS];
+        if (storedMaterials != null) {
+            for (int slot = 0; slot < Math.min(storedMaterials.length, StorageCodec.SLOTS); slot++) {
+                int amount = Math.max(0, storedMaterials[slot]);
+                this.storedMaterials[slot] = amount;
+                this.totalStored += amount;
+            }
+        }
         this.totalHarvests = 0;
         this.exp = 0;
         this.totalMaterialsProduced = 0;
@@ -99,6 +118,8 @@ public class FarmInstance {
 
     public void setLevel(int level) {
         this.level = Math.max(1, Math.min(level, 10)); // Cap between 1-10
+        invalidateGrowthTime();
+        markDirty();
     }
 
     public int getEfficiency() {
@@ -107,6 +128,8 @@ public class FarmInstance {
 
     public void setEfficiency(int efficiency) {
         this.efficiency = efficiency;
+        invalidateGrowthTime();
+        markDirty();
     }
 
     public long getLastHarvest() {
@@ -115,32 +138,51 @@ public class FarmInstance {
 
     public void setLastHarvest(long lastHarvest) {
         this.lastHarvest = lastHarvest;
+        markDirty();
+    }
+
+    public int getStoredAmount(MaterialType materialType, int tier) {
+        return storedMaterials[StorageCodec.slot(materialType, tier)];
+    }
+
+    /**
+     * Read a stored amount by StorageCodec slot
+     */
+    public int getStoredAmount(int slot) {
+        return storedMaterials[slot];
     }
 
-    public Map<String, Integer> getStoredMaterials() {
-        return new HashMap<>(storedMaterials);
+    /**
+     * Encode the stored materials for persistence without copying them
+     */
+    public byte[] encodeStoredMaterials() {
+        return StorageCodec.encode(storedMaterials);
     }
 
-    public void addStoredMaterial(String materialKey, int amount) {
-        storedMaterials.merge(materialKey, amount, Integer::sum);
+    public void addStoredMaterial(MaterialType materialType, int tier, int amount) {
+        if (amount <= 0) return;
+        storedMaterials[StorageCodec.slot(materialType, tier)] += amount;
+        totalStored += amount;
         totalMaterialsProduced += amount;
+        markDirty();
     }
 
-    public void removeStoredMaterial(String materialKey, int amount) {
-        int current = storedMaterials.getOrDefault(materialKey, 0);
-        if (current <= amount) {
-            storedMaterials.remove(materialKey);
-        } else {
-            storedMaterials.put(materialKey, current - amount);
-        }
+    public void removeStoredMaterial(MaterialType materialType, int tier, int amount) {
+        int slot = StorageCodec.slot(materialType, tier);
+        int removed = Math.min(storedMaterials[slot], Math.max(0, amount));
+        storedMaterials[slot] -= removed;
+        totalStored -= removed;
+        markDirty();
     }
 
     public void clearStoredMaterials() {
-        storedMaterials.clear();
+        Arrays.fill(storedMaterials, 0);
+        totalStored = 0;
+        markDirty();
     }
 
     public int getTotalStoredItems() {
-        return storedMaterials.values().stream().mapToInt(Integer::intValue).sum();
+        return totalStored;
     }
 
     /**
@@ -159,14 +201,27 @@ public class FarmInstance {
     }
 
     /**
-     * Get adjusted growth time considering all modifiers
+     * Get adjusted growth time considering all modifiers. Cached until the level,
+     * efficiency or speed upgrade changes, or the configuration is reloaded.
      */
     public long getAdjustedGrowthTime() {
-        long baseTime = FarmingPlugin.getInstance().getPlantationManager().getHarvestIntervalMillis(this);
-        double efficiencyModifier = 1.0 / getEfficiency();
-        double levelModifier = 1.0 - (level - 1) * 0.05; // -5% per level
+        long cached = adjustedGrowthTime;
+        if (cached == 0) {
+            long baseTime = FarmingPlugin.getInstance().getPlantationManager().getHarvestIntervalMillis(farmType);
+            double efficiencyModifier = 1.0 / getEfficiency();
+            double levelModifier = 1.0 - (level - 1) * 0.05; // -5% per level
+
+            cached = Math.max(1, (long) (baseTime * efficiencyModifier * levelModifier));
+            adjustedGrowthTime = cached;
+        }
+        return cached;
+    }
 
-        return (long) (baseTime * efficiencyModifier * levelModifier);
+    /**
+     * Drop the cached growth time so the next read recomputes it
+     */
+    public void invalidateGrowthTime() {
+        adjustedGrowthTime = 0;
     }
 
     public long getNextHarvestTime() {
@@ -200,10 +255,17 @@ public class FarmInstance {
 
     public void setTotalHarvests(int totalHarvests) {
         this.totalHarvests = totalHarvests;
+        markDirty();
     }
 
     public void incrementHarvests() {
         this.totalHarvests++;
+        markDirty();
+    }
+
+    public void incrementHarvests(int count) {
+        this.totalHarvests += count;
+        markDirty();
     }
 
     public int getExp() {
@@ -212,10 +274,12 @@ public class FarmInstance {
 
     public void setExp(int exp) {
         this.exp = exp;
+        markDirty();
     }
 
     public void addExp(int amount) {
         this.exp += amount;
+        markDirty();
     }
 
     public long getTotalMaterialsProduced() {
@@ -249,6 +313,7 @@ public class FarmInstance {
 
     public void setSpeedUpgradeLevel(int level) {
         this.speedUpgradeLevel = Math.max(0, Math.min(level, 5));
+        invalidateGrowthTime();
     }
 
     public int getQualityUpgradeLevel() {
@@ -327,6 +392,104 @@ public class FarmInstance {
         this.notificationsEnabled = enabled;
     }
 
+    // Persistence tracking
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Mark as in sync with the database (e.g. right after loading)
+     */
+    public void markClean() {
+        dirty.set(false);
+    }
+
+    /**
+     * Clear the dirty flag, returning whether it was set. Take the snapshot after this call
+     * so that later changes re-flag the farm.
+     */
+    public boolean consumeDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * Copy the persisted fields so they can be written off the main thread. Main thread only,
+     * like every other change to the farm.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Persisted state of a farm at one point in time
+     */
+    public static final class Snapshot {
+        private final FarmInstance farm;
+        private final int level;
+        private final int efficiency;
+        private final long lastHarvest;
+        private final int totalHarvests;
+        private final int exp;
+        private final byte[] storedMaterials;
+
+        private Snapshot(FarmInstance farm) {
+            this.farm = farm;
+            this.level = farm.level;
+            this.efficiency = farm.getEfficiency();
+            this.lastHarvest = farm.lastHarvest;
+            this.totalHarvests = farm.totalHarvests;
+            this.exp = farm.exp;
+            this.storedMaterials = farm.encodeStoredMaterials();
+        }
+
+        /**
+         * The farm this snapshot was taken from, e.g. to mark it dirty again after a failed write
+         */
+        public FarmInstance getFarm() {
+            return farm;
+        }
+
+        public UUID getOwnerId() {
+            return farm.ownerId;
+        }
+
+        public FarmType getFarmType() {
+            return farm.farmType;
+        }
+
+        public int getInstanceId() {
+            return farm.instanceId;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public int getEfficiency() {
+            return efficiency;
+        }
+
+        public long getLastHarvest() {
+            return lastHarvest;
+        }
+
+        public int getTotalHarvests() {
+            return totalHarvests;
+        }
+
+        public int getExp() {
+            return exp;
+        }
+
+        public byte[] getStoredMaterials() {
+            return storedMaterials;
+        }
+    }
+
     /**
      * Get farm statistics
      */
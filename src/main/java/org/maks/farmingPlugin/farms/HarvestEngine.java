@@ -0,0 +1,172 @@
+package org.maks.farmingPlugin.farms;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the outcome of many accumulated growth cycles at once instead of simulating
+ * them one by one. Fruit is a sum of uniform 3-5 draws, sampled through a multinomial
+ * split of the cycles; rare drops are binomial draws over the cycles that are off the
+ * special-drop cooldown. Cost does not grow with the number of cycles.
+ */
+public final class HarvestEngine {
+    // Below this mean binomials are sampled exactly by waiting times, above it by a normal approximation
+    private static final double EXACT_BINOMIAL_MEAN = 30.0;
+
+    private HarvestEngine() {
+    }
+
+    /**
+     * @param cycles              number of completed growth cycles
+     * @param lastHarvest         time of the previous harvest; cycle i completes at lastHarvest + growthTime * (i + 1)
+     * @param growthTime          length of one cycle in millis
+     * @param levelMultiplier     farm level multiplier applied to fruit amount and drop chances
+     * @param chances             per-cycle probability of each rare drop (see {@link DropTable#getChances})
+     * @param anyDrop             probability that a cycle yields at least one rare drop
+     * @param lastSpecialDrop     time of the last rare drop
+     * @param specialDropCooldown minimum time between rare drops; a cycle is eligible when
+     *                            its completion time is strictly more than this after the last drop
+     */
+    public static HarvestResult harvest(int cycles, long lastHarvest, long growthTime, double levelMultiplier,
+                                        double[] chances, double anyDrop, long lastSpecialDrop, long specialDropCooldown) {
+        Random random = ThreadLocalRandom.current();
+        int[] dropCounts = new int[chances.length];
+        if (cycles <= 0 || growthTime <= 0) {
+            return new HarvestResult(0, 0, 0, dropCounts, lastSpecialDrop);
+        }
+
+        // Fruit: each cycle yields (int) (base * multiplier) with base uniform in {3, 4, 5}
+        long threes = binomial(random, cycles, 1.0 / 3.0);
+        long fours = binomial(random, cycles - threes, 0.5);
+        long fives = cycles - threes - fours;
+        long fruit = threes * (int) (3 * levelMultiplier)
+                   + fours * (int) (4 * levelMultiplier)
+                   + fives * (int) (5 * levelMultiplier);
+
+        // Rare drops: first cycle off cooldown, and the cycles a drop puts back on cooldown
+        long untilEligible = lastSpecialDrop + specialDropCooldown - lastHarvest;
+        long firstEligible = untilEligible < 0 ? 0 : Math.floorDiv(untilEligible, growthTime);
+        long gap = Math.floorDiv(specialDropCooldown, growthTime) + 1;
+        long newLastSpecialDrop = lastSpecialDrop;
+
+        if (anyDrop > 0 && firstEligible < cycles) {
+            if (gap <= 1) {
+                // Cooldown shorter than a cycle: every remaining cycle rolls independently
+                long eligible = cycles - firstEligible;
+                int total = 0;
+                for (int i = 0; i < dropCounts.length; i++) {
+                    dropCounts[i] = (int) binomial(random, eligible, chances[i]);
+                    total += dropCounts[i];
+                }
+                if (total > 0) {
+                    // Trailing cycles without a drop before the end
+                    long trailing = Math.min(eligible - 1, geometric(random, anyDrop));
+                    newLastSpecialDrop = lastHarvest + growthTime * (cycles - trailing);
+                }
+            } else {
+                // Cooldown spans several cycles: skip from drop to drop, bounded by cycles / gap
+                long position = firstEligible;
+                long successes = 0;
+                long lastSuccess = -1;
+                while (true) {
+                    position += geometric(random, anyDrop);
+                    if (position >= cycles) break;
+                    successes++;
+                    lastSuccess = position;
+                    position += gap;
+                }
+                if (successes > 0) {
+                    // Split the drop events across materials; marginals match per-cycle rolls
+                    for (int i = 0; i < dropCounts.length; i++) {
+                        dropCounts[i] = (int) binomial(random, successes, chances[i] / anyDrop);
+                    }
+                    newLastSpecialDrop = lastHarvest + growthTime * (lastSuccess + 1);
+                }
+            }
+        }
+
+        long exp = 10L * cycles + fruit;
+        return new HarvestResult(cycles, (int) Math.min(Integer.MAX_VALUE, fruit),
+                (int) Math.min(Integer.MAX_VALUE, exp), dropCounts, newLastSpecialDrop);
+    }
+
+    /**
+     * Sample Binomial(n, p): exact waiting-time method for small means (expected O(np) steps),
+     * normal approximation otherwise
+     */
+    static long binomial(Random random, long n, double p) {
+        if (n <= 0 || p <= 0) return 0;
+        if (p >= 1) return n;
+        if (p > 0.5) return n - binomial(random, n, 1.0 - p);
+
+        double mean = n * p;
+        if (mean < EXACT_BINOMIAL_MEAN) {
+            double logQ = Math.log1p(-p);
+            long trials = 0;
+            long successes = 0;
+            while (true) {
+                trials += (long) (Math.log(1.0 - random.nextDouble()) / logQ) + 1;
+                if (trials > n) return successes;
+                successes++;
+            }
+        }
+
+        double sample = mean + Math.sqrt(mean * (1.0 - p)) * random.nextGaussian();
+        return Math.max(0, Math.min(n, Math.round(sample)));
+    }
+
+    /**
+     * Number of failures before the first success with success probability p
+     */
+    static long geometric(Random random, double p) {
+        if (p >= 1) return 0;
+        if (p <= 0) return Long.MAX_VALUE / 2;
+        return (long) (Math.log(1.0 - random.nextDouble()) / Math.log1p(-p));
+    }
+
+    public static final class HarvestResult {
+        private final int cycles;
+        private final int fruitAmount;
+        private final int exp;
+        private final int[] dropCounts;
+        private final long lastSpecialDrop;
+
+        HarvestResult(int cycles, int fruitAmount, int exp, int[] dropCounts, long lastSpecialDrop) {
+            this.cycles = cycles;
+            this.fruitAmount = fruitAmount;
+            this.exp = exp;
+            this.dropCounts = dropCounts;
+            this.lastSpecialDrop = lastSpecialDrop;
+        }
+
+        public int getCycles() {
+            return cycles;
+        }
+
+        public int getFruitAmount() {
+            return fruitAmount;
+        }
+
+        public int getExp() {
+            return exp;
+        }
+
+        /**
+         * Amount dropped for the drop table entry at the given index
+         */
+        public int getDropCount(int index) {
+            return dropCounts[index];
+        }
+
+        public boolean hasRareDrops() {
+            for (int count : dropCounts) {
+                if (count > 0) return true;
+            }
+            return false;
+        }
+
+        public long getLastSpecialDrop() {
+            return lastSpecialDrop;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.maks.farmingPlugin.farms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A player's farms indexed by farm type and instance id for constant-time lookups.
+ * Farms are added on the main thread; the list view may be iterated from any thread.
+ */
+public class PlayerFarms {
+    private final EnumMap<FarmType, FarmInstance[]> byType;
+    private final List<FarmInstance> farms;
+    private final List<FarmInstance> view;
+
+    public PlayerFarms() {
+        this.byType = new EnumMap<>(FarmType.class);
+        this.farms = new CopyOnWriteArrayList<>();
+        this.view = Collections.unmodifiableList(farms);
+    }
+
+    public FarmInstance get(FarmType farmType, int instanceId) {
+        FarmInstance[] slots = byType.get(farmType);
+        if (slots == null || instanceId < 1 || instanceId > slots.length) {
+            return null;
+        }
+        return slots[instanceId - 1];
+    }
+
+    /**
+     * Add a farm to its slot. If the slot is already taken the existing farm is kept.
+     *
+     * @return the farm occupying the slot afterwards
+     */
+    public FarmInstance add(FarmInstance farm) {
+        int index = farm.getInstanceId() - 1;
+        if (index < 0) {
+            return null;
+        }
+
+        FarmInstance[] slots = byType.get(farm.getFarmType());
+        if (slots == null) {
+            slots = new FarmInstance[Math.max(farm.getFarmType().getMaxInstances(), index + 1)];
+            byType.put(farm.getFarmType(), slots);
+        } else if (index >= slots.length) {
+            slots = Arrays.copyOf(slots, index + 1);
+            byType.put(farm.getFarmType(), slots);
+        }
+
+        if (slots[index] != null) {
+            return slots[index];
+        }
+        slots[index] = farm;
+        farms.add(farm);
+        return farm;
+    }
+
+    /**
+     * Read-only view of all farms; no copy is made
+     */
+    public List<FarmInstance> asList() {
+        return view;
+    }
+
+    public int size() {
+        return farms.size();
+    }
+
+    public boolean isEmpty() {
+        return farms.isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package org.maks.farmingPlugin.farms;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-player plantation state loaded together with the player's farms:
+ * unlocked farm types, plot ownership and personal settings.
+ */
+public class PlayerProfile {
+    private final UUID playerId;
+    private final Set<FarmType> unlockedFarms;
+    private boolean hasPlot;
+
+    // Settings
+    private boolean hologramsEnabled;
+    private boolean notificationsEnabled;
+    private boolean particleEffectsEnabled;
+    private boolean dropToInventory;
+    private boolean autoCollectEnabled;
+
+    public PlayerProfile(UUID playerId) {
+        this.playerId = playerId;
+        this.unlockedFarms = EnumSet.noneOf(FarmType.class);
+        this.hasPlot = false;
+        this.hologramsEnabled = true;
+        this.notificationsEnabled = true;
+        this.particleEffectsEnabled = true;
+        this.dropToInventory = false;
+        this.autoCollectEnabled = false;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    // Unlocks
+    public boolean isFarmUnlocked(FarmType farmType) {
+        return unlockedFarms.contains(farmType);
+    }
+
+    public void addUnlockedFarm(FarmType farmType) {
+        unlockedFarms.add(farmType);
+    }
+
+    public Set<FarmType> getUnlockedFarms() {
+        return Collections.unmodifiableSet(unlockedFarms);
+    }
+
+    // Plot
+    public boolean hasPlot() {
+        return hasPlot;
+    }
+
+    public void setHasPlot(boolean hasPlot) {
+        this.hasPlot = hasPlot;
+    }
+
+    // Settings
+    public boolean isHologramsEnabled() {
+        return hologramsEnabled;
+    }
+
+    public void setHologramsEnabled(boolean enabled) {
+        this.hologramsEnabled = enabled;
+    }
+
+    public boolean isNotificationsEnabled() {
+        return notificationsEnabled;
+    }
+
+    public void setNotificationsEnabled(boolean enabled) {
+        this.notificationsEnabled = enabled;
+    }
+
+    public boolean isParticleEffectsEnabled() {
+        return particleEffectsEnabled;
+    }
+
+    public void setParticleEffectsEnabled(boolean enabled) {
+        this.particleEffectsEnabled = enabled;
+    }
+
+    public boolean isDropToInventory() {
+        return dropToInventory;
+    }
+
+    public void setDropToInventory(boolean enabled) {
+        this.dropToInventory = enabled;
+    }
+
+    public boolean isAutoCollectEnabled() {
+        return autoCollectEnabled;
+    }
+
+    public void setAutoCollectEnabled(boolean enabled) {
+        this.autoCollectEnabled = enabled;
+    }
+}
@@ -0,0 +1,122 @@
+package org.maks.farmingPlugin.farms;
+
+import org.maks.farmingPlugin.materials.MaterialType;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of farm storage. Every material and tier has a fixed slot
+ * ({@code ordinal * TIERS + tier - 1}); the encoded form is a version byte followed by
+ * (slot, varint amount) pairs for the non-empty slots, so a typical farm takes a few bytes.
+ */
+public final class StorageCodec {
+    public static final int TIERS = 3;
+    public static final int SLOTS = MaterialType.values().length * TIERS;
+
+    private static final MaterialType[] MATERIALS = MaterialType.values();
+    private static final byte VERSION = 1;
+
+    private StorageCodec() {
+    }
+
+    public static int slot(MaterialType materialType, int tier) {
+        if (tier < 1 || tier > TIERS) {
+            throw new IllegalArgumentException("Tier out of range: " + tier);
+        }
+        return materialType.ordinal() * TIERS + tier - 1;
+    }
+
+    public static MaterialType materialOf(int slot) {
+        return MATERIALS[slot / TIERS];
+    }
+
+    public static int tierOf(int slot) {
+        return slot % TIERS + 1;
+    }
+
+    public static byte[] encode(int[] slots) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(VERSION);
+        for (int slot = 0; slot < slots.length; slot++) {
+            int amount = slots[slot];
+            if (amount <= 0) continue;
+
+            out.write(slot);
+            // Unsigned LEB128 varint
+            while ((amount & ~0x7F) != 0) {
+                out.write((amount & 0x7F) | 0x80);
+                amount >>>= 7;
+            }
+            out.write(amount);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is truncated or of an unknown version
+     */
+    public static int[] decode(byte[] data) {
+        int[] slots = new int[SLOTS];
+        if (data == null || data.length == 0) {
+            return slots;
+        }
+        if (data[0] != VERSION) {
+            throw new IllegalArgumentException("Unknown storage encoding version " + data[0]);
+        }
+
+        int pos = 1;
+        while (pos < data.length) {
+            int slot = data[pos++] & 0xFF;
+            int amount = 0;
+            int shift = 0;
+            while (true) {
+                if (pos >= data.length || shift > 28) {
+                    throw new IllegalArgumentException("Truncated storage data");
+                }
+                int b = data[pos++] & 0xFF;
+                amount |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) break;
+                shift += 7;
+            }
+            if (slot < SLOTS) {
+                slots[slot] = amount;
+            }
+        }
+        return slots;
+    }
+
+    // Legacy string keys ("plant_fiber_tier_1"), used by the JSON storage format
+
+    public static String legacyKey(int slot) {
+        return materialOf(slot).getId() + "_tier_" + tierOf(slot);
+    }
+
+    /**
+     * @return the slot of a legacy key, or -1 if it does not name a known material and tier
+     */
+    public static int slotOf(String legacyKey) {
+        int split = legacyKey.lastIndexOf("_tier_");
+        if (split < 0) return -1;
+
+        MaterialType materialType = MaterialType.fromId(legacyKey.substring(0, split));
+        if (materialType == null) return -1;
+        try {
+            int tier = Integer.parseInt(legacyKey.substring(split + "_tier_".length()));
+            return tier >= 1 && tier <= TIERS ? slot(materialType, tier) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static int[] fromLegacy(Map<String, Integer> materials) {
+        int[] slots = new int[SLOTS];
+        for (Map.Entry<String, Integer> entry : materials.entrySet()) {
+            int slot = slotOf(entry.getKey());
+            if (slot >= 0 && entry.getValue() != null) {
+                slots[slot] += entry.getValue();
+            }
+        }
+        return slots;
+    }
+}
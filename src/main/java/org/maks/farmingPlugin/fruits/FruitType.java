@@ -25,6 +25,8 @@ public enum FruitType {
     private final Material material;
     private String displayName;
     private long sellPrice;
+    // Prebuilt single item; rebuilt when the config values change
+    private ItemStack template;
     private static boolean initialized = false;
 
     FruitType(String id, Material material) {
@@ -56,12 +58,21 @@ public enum FruitType {
             } else {
                 plugin.getLogger().warning("No config for fruit: " + fruit.id);
             }
+            fruit.template = fruit.buildItem();
         }
 
         initialized = true;
         plugin.getLogger().info("Loaded " + values().length + " fruit types from config");
     }
 
+    /**
+     * Re-read fruit values after a config reload
+     */
+    public static void reload(FarmingPlugin plugin) {
+        initialized = false;
+        initialize(plugin);
+    }
+
     public String getId() {
         return id;
     }
@@ -78,8 +89,20 @@ public enum FruitType {
         return sellPrice;
     }
 
+    /**
+     * Create fruit items by copying the prebuilt template
+     */
     public ItemStack createItem(int amount) {
-        ItemStack item = new ItemStack(material, amount);
+        ItemStack item = template;
+        if (item == null) {
+            item = buildItem();
+            template = item;
+        }
+        return item.asQuantity(amount);
+    }
+
+    private ItemStack buildItem() {
+        ItemStack item = new ItemStack(material);
         ItemMeta meta = item.getItemMeta();
 
         if (meta != null) {
@@ -18,6 +18,7 @@ import org.maks.farmingPlugin.materials.MaterialType;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class FarmUpgradeGUI implements InventoryHolder {
     private final FarmingPlugin plugin;
@@ -302,13 +303,12 @@ public class FarmUpgradeGUI implements InventoryHolder {
             }
         } else {
             // Fallback to inventory-only consumption
+            UUID playerUuid = player.getUniqueId();
             for (Map.Entry<MaterialType, Integer> entry : materials.entrySet()) {
-                plugin.getDatabaseManager().updatePlayerMaterial(
-                    player.getUniqueId(),
-                    entry.getKey().getId(),
-                    1, 
-                    -entry.getValue()
-                );
+                String materialId = entry.getKey().getId();
+                int amount = entry.getValue();
+                plugin.getPersistenceExecutor().execute(playerUuid,
+                    () -> plugin.getDatabaseManager().updatePlayerMaterial(playerUuid, materialId, 1, -amount));
             }
         }
 
@@ -319,8 +319,9 @@ public class FarmUpgradeGUI implements InventoryHolder {
             case "quality" -> farmInstance.setQualityUpgradeLevel(currentLevel + 1);
         }
 
-        // Save and refresh
+        // Save, reschedule growth events and refresh
         plugin.getPlantationManager().savePlayerData(player.getUniqueId());
+        plugin.getOfflineGrowthManager().scheduleFarm(farmInstance);
         
         player.sendMessage(ChatColor.GREEN + "✔ Successfully purchased " + upgradeType + " upgrade!");
         player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.2f);
@@ -382,8 +383,9 @@ public class FarmUpgradeGUI implements InventoryHolder {
             plugin.getHologramManager().updateHologram(farmInstance);
         }
         
-        // Save and refresh
+        // Save, reschedule growth events and refresh
         plugin.getPlantationManager().savePlayerData(player.getUniqueId());
+        plugin.getOfflineGrowthManager().scheduleFarm(farmInstance);
         setupGUI();
     }
 
@@ -0,0 +1,152 @@
+package org.maks.farmingPlugin.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.managers.OverflowStorageManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class OverflowStorageGUI implements InventoryHolder {
+    private static final int ITEM_SLOTS = 45;
+    private static final int CLAIM_ALL_SLOT = 49;
+    private static final int CLOSE_SLOT = 53;
+
+    private final FarmingPlugin plugin;
+    private final Player player;
+    private final Inventory inventory;
+    private final List<String> slotKeys;
+
+    public OverflowStorageGUI(FarmingPlugin plugin, Player player) {
+        this.plugin = plugin;
+        this.player = player;
+        this.slotKeys = new ArrayList<>();
+
+        String title = ChatColor.DARK_GREEN + "📦 Overflow Storage";
+        this.inventory = Bukkit.createInventory(this, 54, title);
+
+        setupGUI();
+    }
+
+    private void setupGUI() {
+        fillBottomRow();
+        addStoredItems();
+        addControlButtons();
+    }
+
+    private void fillBottomRow() {
+        ItemStack borderItem = createItem(Material.GRAY_STAINED_GLASS_PANE, " ", null);
+        for (int i = ITEM_SLOTS; i < 54; i++) {
+            inventory.setItem(i, borderItem);
+        }
+    }
+
+    private void addStoredItems() {
+        slotKeys.clear();
+        OverflowStorageManager storage = plugin.getOverflowStorageManager();
+
+        for (Map.Entry<String, Integer> entry : storage.getBuffer(player.getUniqueId()).entrySet()) {
+            if (slotKeys.size() >= ITEM_SLOTS) break;
+
+            ItemStack item = storage.createItem(entry.getKey());
+            if (item == null) continue;
+
+            int amount = entry.getValue();
+            item.setAmount(Math.max(1, Math.min(amount, item.getMaxStackSize())));
+
+            ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                List<String> lore = new ArrayList<>();
+                lore.add(ChatColor.GRAY + "Stored: " + ChatColor.WHITE + String.format("%,d", amount));
+                lore.add("");
+                lore.add(ChatColor.YELLOW + "Click to claim!");
+                meta.setLore(lore);
+                item.setItemMeta(meta);
+            }
+
+            inventory.setItem(slotKeys.size(), item);
+            slotKeys.add(entry.getKey());
+        }
+    }
+
+    private void addControlButtons() {
+        int total = plugin.getOverflowStorageManager().getTotalBuffered(player.getUniqueId());
+
+        List<String> claimLore = new ArrayList<>();
+        if (total > 0) {
+            claimLore.add(ChatColor.GRAY + "Move everything that fits");
+            claimLore.add(ChatColor.GRAY + "into your inventory");
+            claimLore.add("");
+            claimLore.add(ChatColor.GRAY + "Stored items: " + ChatColor.WHITE + String.format("%,d", total));
+            claimLore.add("");
+            claimLore.add(ChatColor.YELLOW + "Click to claim all!");
+        } else {
+            claimLore.add(ChatColor.GRAY + "Your overflow storage is empty");
+        }
+        inventory.setItem(CLAIM_ALL_SLOT, createItem(Material.HOPPER, "&aClaim All", claimLore));
+
+        List<String> closeLore = new ArrayList<>();
+        closeLore.add(ChatColor.GRAY + "Close this menu");
+        inventory.setItem(CLOSE_SLOT, createItem(Material.BARRIER, "&cClose", closeLore));
+    }
+
+    public void handleClick(int slot) {
+        if (slot == CLOSE_SLOT) {
+            player.closeInventory();
+            return;
+        }
+
+        int claimed;
+        if (slot == CLAIM_ALL_SLOT) {
+            if (plugin.getOverflowStorageManager().getTotalBuffered(player.getUniqueId()) == 0) return;
+            claimed = plugin.getOverflowStorageManager().claimAll(player);
+        } else if (slot >= 0 && slot < slotKeys.size()) {
+            claimed = plugin.getOverflowStorageManager().claim(player, slotKeys.get(slot));
+        } else {
+            return;
+        }
+
+        if (claimed > 0) {
+            player.sendMessage(ChatColor.GREEN + "✔ Claimed " + String.format("%,d", claimed) + " item(s)!");
+            player.playSound(player.getLocation(), Sound.ENTITY_ITEM_PICKUP, 1.0f, 1.0f);
+        } else {
+            player.sendMessage(ChatColor.RED + "Your inventory is full!");
+            player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
+        }
+        refresh();
+    }
+
+    public void refresh() {
+        inventory.clear();
+        setupGUI();
+    }
+
+    private ItemStack createItem(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+
+        if (meta != null) {
+            meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', name));
+            if (lore != null) {
+                meta.setLore(lore);
+            }
+            item.setItemMeta(meta);
+        }
+
+        return item;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
@@ -9,6 +9,7 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.farms.DropTable;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
 import org.maks.farmingPlugin.farms.MaterialDrop;
@@ -146,7 +147,7 @@ public class PlantationGUI implements InventoryHolder {
         
         List<MaterialDrop> drops = plugin.getPlantationManager().getFarmDrops(farmInstance.getFarmType());
         for (MaterialDrop drop : drops) {
-            double chance = drop.getRate() * (1.0 + (farmInstance.getLevel() - 1) * 0.2);
+            double chance = drop.getRate() * DropTable.levelMultiplier(farmInstance.getLevel());
             lore.add(ChatColor.GRAY + "• " + drop.getMaterialType().getDisplayName() + 
                     " T" + drop.getTier() + ChatColor.DARK_GRAY + " (" + 
                     String.format("%.1f%%", chance) + ")");
@@ -224,7 +225,7 @@ public class PlantationGUI implements InventoryHolder {
         if (fruitType != null) {
             int baseFruits = 3;
             int maxFruits = 5;
-            double levelBonus = 1.0 + (farmInstance.getLevel() - 1) * 0.2;
+            double levelBonus = DropTable.levelMultiplier(farmInstance.getLevel());
             player.sendMessage(ChatColor.GRAY + "• " + fruitType.getDisplayName() + 
                              ChatColor.WHITE + " x" + (int)(baseFruits * levelBonus) + "-" + 
                              (int)(maxFruits * levelBonus) + 
@@ -236,7 +237,7 @@ public class PlantationGUI implements InventoryHolder {
         
         for (MaterialDrop drop : drops) {
             String tierRoman = getTierRoman(drop.getTier());
-            double actualRate = drop.getRate() * (1.0 + (farmInstance.getLevel() - 1) * 0.2);
+            double actualRate = drop.getRate() * DropTable.levelMultiplier(farmInstance.getLevel());
             
             player.sendMessage(ChatColor.GRAY + "• " + ChatColor.WHITE + 
                              drop.getMaterialType().getDisplayName() + " " + tierRoman + 
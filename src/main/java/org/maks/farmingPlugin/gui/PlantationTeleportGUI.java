@@ -15,6 +15,7 @@ import org.bukkit.inventory.meta.SkullMeta;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
+import org.maks.farmingPlugin.managers.StatsManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -109,7 +110,7 @@ public class PlantationTeleportGUI implements InventoryHolder {
 
         // Check level requirement
         int playerLevel = player.getLevel();
-        int requiredLevel = plugin.getConfig().getInt("teleport.minimum_level", 85);
+        int requiredLevel = plugin.getSettings().getTeleportMinimumLevel();
 
         if (playerLevel >= requiredLevel) {
             lore.add(ChatColor.GREEN + "✔ Level requirement met!");
@@ -151,7 +152,7 @@ public class PlantationTeleportGUI implements InventoryHolder {
 
         for (FarmType type : FarmType.values()) {
             boolean unlocked = type == FarmType.BERRY_ORCHARDS ||
-                             plugin.getDatabaseManager().isFarmUnlocked(player.getUniqueId(), type.getId());
+                             plugin.getPlantationManager().isFarmUnlocked(player.getUniqueId(), type);
 
             String status = unlocked ? ChatColor.GREEN + "✔" : ChatColor.RED + "✘";
             String name = unlocked ? ChatColor.GREEN + type.getDisplayName() :
@@ -172,26 +173,15 @@ public class PlantationTeleportGUI implements InventoryHolder {
         ItemMeta statsMeta = quickStats.getItemMeta();
 
         List<String> statsLore = new ArrayList<>();
-        try {
-            String sql = "SELECT total_harvests, total_materials_collected FROM farming_player_stats WHERE uuid = ?";
-            var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-            stmt.setString(1, player.getUniqueId().toString());
-            var rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                statsLore.add(ChatColor.GRAY + "Total Harvests: " + ChatColor.GREEN +
-                            String.format("%,d", rs.getLong("total_harvests")));
-                statsLore.add(ChatColor.GRAY + "Materials: " + ChatColor.AQUA +
-                            String.format("%,d", rs.getLong("total_materials_collected")));
-            } else {
-                statsLore.add(ChatColor.GRAY + "No data yet!");
-                statsLore.add(ChatColor.GRAY + "Start farming to earn!");
-            }
-
-            rs.close();
-            stmt.close();
-        } catch (Exception e) {
-            statsLore.add(ChatColor.RED + "Error loading stats");
+        StatsManager stats = plugin.getStatsManager();
+        if (stats.hasStats(player.getUniqueId())) {
+            statsLore.add(ChatColor.GRAY + "Total Harvests: " + ChatColor.GREEN +
+                        String.format("%,d", stats.get(player.getUniqueId(), StatsManager.Stat.HARVESTS)));
+            statsLore.add(ChatColor.GRAY + "Materials: " + ChatColor.AQUA +
+                        String.format("%,d", stats.get(player.getUniqueId(), StatsManager.Stat.MATERIALS_COLLECTED)));
+        } else {
+            statsLore.add(ChatColor.GRAY + "No data yet!");
+            statsLore.add(ChatColor.GRAY + "Start farming to earn!");
         }
 
         statsMeta.setLore(statsLore);
@@ -255,9 +245,9 @@ public class PlantationTeleportGUI implements InventoryHolder {
 
     public boolean canTeleport() {
         int playerLevel = player.getLevel();
-        int requiredLevel = plugin.getConfig().getInt("teleport.minimum_level", 85);
+        int requiredLevel = plugin.getSettings().getTeleportMinimumLevel();
 
-        if (!plugin.getConfig().getBoolean("teleport.require_level", true)) {
+        if (!plugin.getSettings().isTeleportRequireLevel()) {
             return true;
         }
 
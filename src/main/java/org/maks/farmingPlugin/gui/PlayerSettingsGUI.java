@@ -12,9 +12,12 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.farms.PlayerProfile;
+import org.maks.farmingPlugin.managers.StatsManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 public class PlayerSettingsGUI implements InventoryHolder {
     private final FarmingPlugin plugin;
@@ -22,6 +25,7 @@ public class PlayerSettingsGUI implements InventoryHolder {
     private final Inventory inventory;
     
     // Current settings
+    private boolean dropToInventory;
     private boolean hologramsEnabled;
     private boolean notificationsEnabled;
     private boolean particleEffectsEnabled;
@@ -40,12 +44,35 @@ public class PlayerSettingsGUI implements InventoryHolder {
     }
 
     private void loadCurrentSettings() {
-        hologramsEnabled = plugin.getDatabaseManager()
-            .getPlayerBooleanSetting(player.getUniqueId(), "hologram_enabled", true);
-        notificationsEnabled = plugin.getDatabaseManager()
-            .getPlayerBooleanSetting(player.getUniqueId(), "notifications_enabled", true);
-        particleEffectsEnabled = plugin.getDatabaseManager()
-            .getPlayerBooleanSetting(player.getUniqueId(), "particle_effects_enabled", true);
+        // Settings are loaded with the player's data on join
+        PlayerProfile profile = plugin.getPlantationManager().getProfile(player.getUniqueId());
+        if (profile != null) {
+            dropToInventory = profile.isDropToInventory();
+            hologramsEnabled = profile.isHologramsEnabled();
+            notificationsEnabled = profile.isNotificationsEnabled();
+            particleEffectsEnabled = profile.isParticleEffectsEnabled();
+        } else {
+            dropToInventory = false;
+            hologramsEnabled = true;
+            notificationsEnabled = true;
+            particleEffectsEnabled = true;
+        }
+    }
+
+    private void storeSettings() {
+        PlayerProfile profile = plugin.getPlantationManager().getProfile(player.getUniqueId());
+        if (profile != null) {
+            profile.setDropToInventory(dropToInventory);
+            profile.setHologramsEnabled(hologramsEnabled);
+            profile.setNotificationsEnabled(notificationsEnabled);
+            profile.setParticleEffectsEnabled(particleEffectsEnabled);
+        }
+    }
+
+    private void saveSetting(String key, boolean value) {
+        UUID uuid = player.getUniqueId();
+        plugin.getPersistenceExecutor().execute(uuid,
+            () -> plugin.getDatabaseManager().savePlayerSetting(uuid, key, value));
     }
 
     private void setupGUI() {
@@ -65,6 +92,16 @@ public class PlayerSettingsGUI implements InventoryHolder {
     }
 
     private void addSettingToggles() {
+        // Drop to Inventory Setting
+        addToggleSetting(10, Material.CHEST,
+                        "&6Drop to Inventory",
+                        dropToInventory,
+                        "&7Harvests go straight into",
+                        "&7your inventory instead of",
+                        "&7dropping on the ground",
+                        "",
+                        "&eOverflow is kept for you!");
+
         // Holograms Setting
         addToggleSetting(12, Material.NAME_TAG,
                         "&bHolograms",
@@ -139,36 +176,26 @@ public class PlayerSettingsGUI implements InventoryHolder {
         
         List<String> lore = new ArrayList<>();
         
-        // Get player statistics from database
-        try {
-            String sql = "SELECT * FROM farming_player_stats WHERE uuid = ?";
-            var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-            stmt.setString(1, player.getUniqueId().toString());
-            var rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                lore.add(ChatColor.GRAY + "Total Farms: " + ChatColor.WHITE + 
-                        rs.getInt("total_farms_created"));
-                lore.add(ChatColor.GRAY + "Total Harvests: " + ChatColor.GREEN + 
-                        String.format("%,d", rs.getLong("total_harvests")));
-                lore.add(ChatColor.GRAY + "Materials Collected: " + ChatColor.AQUA + 
-                        String.format("%,d", rs.getLong("total_materials_collected")));
-                lore.add(ChatColor.GRAY + "Money Spent: " + ChatColor.GOLD + 
-                        plugin.getEconomyManager().formatMoney(rs.getDouble("total_money_spent")));
-                lore.add(ChatColor.GRAY + "Money Earned: " + ChatColor.GOLD + 
-                        plugin.getEconomyManager().formatMoney(rs.getDouble("total_money_earned")));
-                
-                int playMinutes = rs.getInt("play_time_minutes");
-                lore.add(ChatColor.GRAY + "Play Time: " + ChatColor.YELLOW + 
-                        formatPlayTime(playMinutes));
-            } else {
-                lore.add(ChatColor.GRAY + "No statistics available yet!");
-            }
+        // Get player statistics from the stats cache
+        StatsManager stats = plugin.getStatsManager();
+        UUID uuid = player.getUniqueId();
+        if (stats.hasStats(uuid)) {
+            lore.add(ChatColor.GRAY + "Total Farms: " + ChatColor.WHITE + 
+                    stats.get(uuid, StatsManager.Stat.FARMS_CREATED));
+            lore.add(ChatColor.GRAY + "Total Harvests: " + ChatColor.GREEN + 
+                    String.format("%,d", stats.get(uuid, StatsManager.Stat.HARVESTS)));
+            lore.add(ChatColor.GRAY + "Materials Collected: " + ChatColor.AQUA + 
+                    String.format("%,d", stats.get(uuid, StatsManager.Stat.MATERIALS_COLLECTED)));
+            lore.add(ChatColor.GRAY + "Money Spent: " + ChatColor.GOLD + 
+                    plugin.getEconomyManager().formatMoney(stats.getAmount(uuid, StatsManager.Stat.MONEY_SPENT)));
+            lore.add(ChatColor.GRAY + "Money Earned: " + ChatColor.GOLD + 
+                    plugin.getEconomyManager().formatMoney(stats.getAmount(uuid, StatsManager.Stat.MONEY_EARNED)));
             
-            rs.close();
-            stmt.close();
-        } catch (Exception e) {
-            lore.add(ChatColor.RED + "Error loading statistics!");
+            int playMinutes = (int) stats.get(uuid, StatsManager.Stat.PLAY_TIME_MINUTES);
+            lore.add(ChatColor.GRAY + "Play Time: " + ChatColor.YELLOW + 
+                    formatPlayTime(playMinutes));
+        } else {
+            lore.add(ChatColor.GRAY + "No statistics available yet!");
         }
         
         meta.setLore(lore);
@@ -260,6 +287,26 @@ public class PlayerSettingsGUI implements InventoryHolder {
         quickSellItem.setItemMeta(sellMeta);
         
         inventory.setItem(22, quickSellItem);
+
+        // Overflow Storage Button
+        int buffered = plugin.getOverflowStorageManager().getTotalBuffered(player.getUniqueId());
+        ItemStack overflowItem = createItem(Material.BARREL,
+                                           "&6📦 Overflow Storage",
+                                           null);
+        ItemMeta overflowMeta = overflowItem.getItemMeta();
+
+        List<String> overflowLore = new ArrayList<>();
+        overflowLore.add(ChatColor.GRAY + "Harvests that didn't fit");
+        overflowLore.add(ChatColor.GRAY + "into your inventory");
+        overflowLore.add("");
+        overflowLore.add(ChatColor.GRAY + "Stored items: " + ChatColor.WHITE + String.format("%,d", buffered));
+        overflowLore.add("");
+        overflowLore.add(ChatColor.YELLOW + "Click to open!");
+
+        overflowMeta.setLore(overflowLore);
+        overflowItem.setItemMeta(overflowMeta);
+
+        inventory.setItem(40, overflowItem);
     }
 
     private void addControlButtons() {
@@ -314,10 +361,18 @@ public class PlayerSettingsGUI implements InventoryHolder {
 
     public void toggleSetting(String setting) {
         switch (setting.toLowerCase()) {
+            case "inventory" -> {
+                dropToInventory = !dropToInventory;
+                storeSettings();
+                saveSetting("drop_to_inventory", dropToInventory);
+
+                player.sendMessage(ChatColor.YELLOW + "Drop to inventory " +
+                    (dropToInventory ? ChatColor.GREEN + "enabled" : ChatColor.RED + "disabled"));
+            }
             case "holograms" -> {
                 hologramsEnabled = !hologramsEnabled;
-                plugin.getDatabaseManager().savePlayerSetting(
-                    player.getUniqueId(), "hologram_enabled", hologramsEnabled);
+                storeSettings();
+                saveSetting("hologram_enabled", hologramsEnabled);
                 
                 if (!hologramsEnabled && plugin.getHologramManager() != null) {
                     plugin.getHologramManager().removePlayerHolograms(player.getUniqueId());
@@ -328,16 +383,16 @@ public class PlayerSettingsGUI implements InventoryHolder {
             }
             case "notifications" -> {
                 notificationsEnabled = !notificationsEnabled;
-                plugin.getDatabaseManager().savePlayerSetting(
-                    player.getUniqueId(), "notifications_enabled", notificationsEnabled);
+                storeSettings();
+                saveSetting("notifications_enabled", notificationsEnabled);
                 
                 player.sendMessage(ChatColor.YELLOW + "Notifications " + 
                     (notificationsEnabled ? ChatColor.GREEN + "enabled" : ChatColor.RED + "disabled"));
             }
             case "particles" -> {
                 particleEffectsEnabled = !particleEffectsEnabled;
-                plugin.getDatabaseManager().savePlayerSetting(
-                    player.getUniqueId(), "particle_effects_enabled", particleEffectsEnabled);
+                storeSettings();
+                saveSetting("particle_effects_enabled", particleEffectsEnabled);
                 
                 player.sendMessage(ChatColor.YELLOW + "Particle effects " + 
                     (particleEffectsEnabled ? ChatColor.GREEN + "enabled" : ChatColor.RED + "disabled"));
@@ -349,14 +404,17 @@ public class PlayerSettingsGUI implements InventoryHolder {
 
     public void resetSettings() {
         // Reset all settings to default
+        dropToInventory = false;
         hologramsEnabled = true;
         notificationsEnabled = true;
         particleEffectsEnabled = true;
+        storeSettings();
         
         // Save to database
-        plugin.getDatabaseManager().savePlayerSetting(player.getUniqueId(), "hologram_enabled", true);
-        plugin.getDatabaseManager().savePlayerSetting(player.getUniqueId(), "notifications_enabled", true);
-        plugin.getDatabaseManager().savePlayerSetting(player.getUniqueId(), "particle_effects_enabled", true);
+        saveSetting("drop_to_inventory", false);
+        saveSetting("hologram_enabled", true);
+        saveSetting("notifications_enabled", true);
+        saveSetting("particle_effects_enabled", true);
         
         player.sendMessage(ChatColor.GREEN + "✔ All settings have been reset to default!");
         player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 0.8f);
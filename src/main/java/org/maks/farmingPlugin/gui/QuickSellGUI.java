@@ -13,6 +13,7 @@ import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.fruits.FruitType;
+import org.maks.farmingPlugin.managers.StatsManager;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -130,23 +131,12 @@ public class QuickSellGUI implements InventoryHolder {
         statsLore.add(ChatColor.GRAY + "Track your earnings!");
         statsLore.add("");
         
-        // Get player's total earnings from database
-        try {
-            String sql = "SELECT total_money_earned FROM farming_player_stats WHERE uuid = ?";
-            var stmt = plugin.getDatabaseManager().prepareStatement(sql);
-            stmt.setString(1, player.getUniqueId().toString());
-            var rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                double earned = rs.getDouble("total_money_earned");
-                statsLore.add(ChatColor.GREEN + "Total Earned: " + ChatColor.GOLD + 
-                            plugin.getEconomyManager().formatMoney(earned));
-            }
-            
-            rs.close();
-            stmt.close();
-        } catch (Exception e) {
-            statsLore.add(ChatColor.RED + "Error loading stats");
+        // Get player's total earnings from the stats cache
+        StatsManager stats = plugin.getStatsManager();
+        if (stats.hasStats(player.getUniqueId())) {
+            double earned = stats.getAmount(player.getUniqueId(), StatsManager.Stat.MONEY_EARNED);
+            statsLore.add(ChatColor.GREEN + "Total Earned: " + ChatColor.GOLD + 
+                        plugin.getEconomyManager().formatMoney(earned));
         }
         
         statsLore.add(ChatColor.GRAY + "Current Balance: " + ChatColor.GOLD + 
@@ -253,9 +243,9 @@ public class QuickSellGUI implements InventoryHolder {
         plugin.getEconomyManager().depositMoney(player, totalValue);
         
         // Update stats
-        plugin.getDatabaseManager().updatePlayerStats(player.getUniqueId(), 
-                                                      "total_money_earned", 
-                                                      (long) totalValue);
+        plugin.getStatsManager().incrementAmount(player.getUniqueId(),
+                                                 StatsManager.Stat.MONEY_EARNED,
+                                                 totalValue);
         
         // Clear sold items
         for (int slot : fruitsToSell.keySet()) {
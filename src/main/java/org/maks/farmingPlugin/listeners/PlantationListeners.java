@@ -24,6 +24,7 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.Event;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.NamespacedKey;
 import org.bukkit.persistence.PersistentDataType;
@@ -32,12 +33,14 @@ import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
 import org.maks.farmingPlugin.gui.PlantationGUI;
 import org.maks.farmingPlugin.gui.FarmUpgradeGUI;
+import org.maks.farmingPlugin.gui.OverflowStorageGUI;
 import org.maks.farmingPlugin.gui.PlayerSettingsGUI;
 import org.maks.farmingPlugin.gui.QuickSellGUI;
 import org.maks.farmingPlugin.gui.PlantationTeleportGUI;
 import org.maks.farmingPlugin.managers.PlantationAreaManager;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class PlantationListeners implements Listener {
@@ -54,25 +57,29 @@ public class PlantationListeners implements Listener {
         Player player = event.getPlayer();
         UUID uuid = player.getUniqueId();
         
-        // Load player data asynchronously
-        plugin.getPlantationManager().loadPlayerData(uuid);
-        plugin.getOfflineGrowthManager().onPlayerJoin(uuid);
-        
-        // Check for first join (don't give items)
-        if (!plugin.getDatabaseManager().loadPlayerPlot(uuid).isPresent()) {
-            player.sendMessage(ChatColor.GREEN + "Welcome to the Farming System!");
-            player.sendMessage(ChatColor.YELLOW + "Visit the Farm NPC to access your plantation!");
-            player.sendMessage(ChatColor.YELLOW + "You must be level 85 to start farming!");
-        } else {
-            // Check farms that need attention
-            checkFarmsNeedingAttention(player);
-        }
+        // Load player data asynchronously, then greet and rebuild once the model is in place
+        plugin.getPlantationManager().loadPlayerData(uuid).thenAccept(profile -> {
+            if (!player.isOnline()) return;
 
-        if (plugin.getConfig().getBoolean("plantation.rebuild_on_join", true)) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                plugin.getPlantationAreaManager().regeneratePlayerArea(event.getPlayer());
-            }, 20L);
-        }
+            plugin.getOfflineGrowthManager().onPlayerJoin(uuid);
+            if (plugin.getHologramManager() != null) {
+                plugin.getHologramManager().showPlayerHolograms(player);
+            }
+
+            // Check for first join (don't give items)
+            if (!profile.hasPlot() && !plugin.getPlantationAreaManager().hasArea(uuid)) {
+                player.sendMessage(ChatColor.GREEN + "Welcome to the Farming System!");
+                player.sendMessage(ChatColor.YELLOW + "Visit the Farm NPC to access your plantation!");
+                player.sendMessage(ChatColor.YELLOW + "You must be level 85 to start farming!");
+            } else {
+                // Check farms that need attention
+                checkFarmsNeedingAttention(player);
+            }
+
+            if (plugin.getSettings().isRebuildOnJoin()) {
+                plugin.getPlantationAreaManager().regeneratePlayerArea(player);
+            }
+        });
     }
 
     @EventHandler
@@ -81,6 +88,7 @@ public class PlantationListeners implements Listener {
         UUID uuid = player.getUniqueId();
         
         plugin.getOfflineGrowthManager().onPlayerQuit(uuid);
+        plugin.getStatsManager().unloadPlayer(uuid);
         
         // Remove from selection mode
         farmSelectionModes.remove(uuid);
@@ -120,6 +128,11 @@ public class PlantationListeners implements Listener {
         FarmType farmType = FarmType.fromBlockType(block.getType());
         if (farmType == null) return;
 
+        if (isProfileLoading(player)) {
+            event.setCancelled(true);
+            return;
+        }
+
         // Check if on player's plantation
         if (!plugin.getPlantationAreaManager().isLocationInPlantation(player.getUniqueId(), block.getLocation())) {
             // Check if it's another player's farm
@@ -156,37 +169,55 @@ public class PlantationListeners implements Listener {
         FarmInstance farmInstance = plugin.getPlantationManager()
                 .getFarmInstance(player.getUniqueId(), farmType, instanceId);
 
-        if (farmInstance == null) {
-            // Check if player can create this farm type
-            if (!canCreateFarm(player, farmType)) {
+        // Update cooldown
+        lastInteraction.put(player.getUniqueId(), System.currentTimeMillis());
+
+        if (farmInstance != null) {
+            openFarm(player, farmInstance);
+            return;
+        }
+
+        // Unlocking may need the player's stored materials, which are checked asynchronously
+        canCreateFarm(player, farmType).thenAccept(canCreate -> {
+            if (!player.isOnline()) return;
+            if (!canCreate) {
                 showUnlockRequirements(player, farmType);
                 return;
             }
-            
-            // Create new farm instance
-            Location anchorLocation = plugin.getPlantationAreaManager()
-                .getOrCreateFarmAnchor(player.getUniqueId(), farmType, instanceId);
-            
-            if (anchorLocation == null) {
-                player.sendMessage(ChatColor.RED + "Failed to create farm anchor!");
-                return;
+            FarmInstance created = createFarm(player, farmType, instanceId);
+            if (created != null) {
+                openFarm(player, created);
             }
-            
-            farmInstance = plugin.getPlantationManager()
-                    .createFarmInstance(player.getUniqueId(), farmType, instanceId, anchorLocation);
-            
-            player.sendMessage(ChatColor.GREEN + "✔ Created " + farmType.getDisplayName() + 
-                             " instance #" + instanceId + "!");
-            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f);
-            
-            // Particles for new farm
-            player.getWorld().spawnParticle(
-                org.bukkit.Particle.VILLAGER_HAPPY,
-                anchorLocation.clone().add(0.5, 1, 0.5),
-                30, 0.5, 0.5, 0.5, 0.1
-            );
+        });
+    }
+
+    private FarmInstance createFarm(Player player, FarmType farmType, int instanceId) {
+        // Create new farm instance
+        Location anchorLocation = plugin.getPlantationAreaManager()
+            .getOrCreateFarmAnchor(player.getUniqueId(), farmType, instanceId);
+        
+        if (anchorLocation == null) {
+            player.sendMessage(ChatColor.RED + "Failed to create farm anchor!");
+            return null;
         }
+        
+        FarmInstance farmInstance = plugin.getPlantationManager()
+                .createFarmInstance(player.getUniqueId(), farmType, instanceId, anchorLocation);
+        
+        player.sendMessage(ChatColor.GREEN + "✔ Created " + farmType.getDisplayName() + 
+                         " instance #" + instanceId + "!");
+        player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1.0f, 2.0f);
+        
+        // Particles for new farm
+        player.getWorld().spawnParticle(
+            org.bukkit.Particle.VILLAGER_HAPPY,
+            anchorLocation.clone().add(0.5, 1, 0.5),
+            30, 0.5, 0.5, 0.5, 0.1
+        );
+        return farmInstance;
+    }
 
+    private void openFarm(Player player, FarmInstance farmInstance) {
         // Harvest instantly if ready, otherwise open the GUI
         if (farmInstance.isReadyForHarvest()) {
             plugin.getPlantationManager().processFarmHarvest(farmInstance);
@@ -194,14 +225,25 @@ public class PlantationListeners implements Listener {
             PlantationGUI gui = new PlantationGUI(plugin, farmInstance, player);
             player.openInventory(gui.getInventory());
         }
+    }
 
-        // Update cooldown
-        lastInteraction.put(player.getUniqueId(), System.currentTimeMillis());
+    /**
+     * Farms can't be created or used until the player's data is loaded, since a farm made
+     * before that would replace the stored one
+     */
+    private boolean isProfileLoading(Player player) {
+        if (plugin.getPlantationManager().getProfile(player.getUniqueId()) != null) {
+            return false;
+        }
+        player.sendMessage(ChatColor.YELLOW + "Your plantation is still loading, please try again in a moment.");
+        return true;
     }
 
     @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
     public void onRightClickLockedSign(PlayerInteractEvent e) {
         if (e.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+        // The off-hand event of the same click would start a second unlock
+        if (e.getHand() != EquipmentSlot.HAND) return;
         Block b = e.getClickedBlock();
         if (b == null) return;
 
@@ -224,10 +266,23 @@ public class PlantationListeners implements Listener {
 
         Player player = e.getPlayer();
         e.setCancelled(true);
+        if (isProfileLoading(player)) return;
+        if (isOnCooldown(player)
+                || plugin.getPlantationManager().isUnlockPending(player.getUniqueId(), type, instanceId)) {
+            return;
+        }
+        lastInteraction.put(player.getUniqueId(), System.currentTimeMillis());
 
-        boolean unlocked = plugin.getPlantationManager().attemptUnlock(player, type, instanceId);
+        Location signLocation = b.getLocation();
+        plugin.getPlantationManager().attemptUnlock(player, type, instanceId).thenAccept(unlocked -> {
+            if (!player.isOnline()) return;
+            onUnlockAttempt(player, signLocation, type, instanceId, unlocked);
+        });
+    }
+
+    private void onUnlockAttempt(Player player, Location signLocation, FarmType type, int instanceId, boolean unlocked) {
         if (unlocked) {
-            plugin.getPlantationAreaManager().placeFarmBlock(b.getLocation(), type);
+            plugin.getPlantationAreaManager().placeFarmBlock(signLocation, type);
             Bukkit.getScheduler().runTaskLater(plugin, () -> {
                 FarmInstance fi = plugin.getPlantationManager().getFarmInstance(player.getUniqueId(), type, instanceId);
                 if (fi != null) {
@@ -265,12 +320,19 @@ public class PlantationListeners implements Listener {
         } else if (event.getInventory().getHolder() instanceof PlantationTeleportGUI teleportGui) {
             event.setCancelled(true);
             handleTeleportGUIClick(player, teleportGui, event);
+        } else if (event.getInventory().getHolder() instanceof OverflowStorageGUI overflowGui) {
+            event.setCancelled(true);
+            if (event.getRawSlot() < event.getInventory().getSize()) {
+                overflowGui.handleClick(event.getRawSlot());
+            }
         }
     }
 
     @EventHandler
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (event.getInventory().getHolder() instanceof QuickSellGUI) {
+        if (event.getInventory().getHolder() instanceof OverflowStorageGUI) {
+            event.setCancelled(true);
+        } else if (event.getInventory().getHolder() instanceof QuickSellGUI) {
             // Allow dragging only in the selling slots
             for (int slot : event.getRawSlots()) {
                 if (slot < 0 || slot >= event.getInventory().getSize()) continue;
@@ -338,10 +400,16 @@ public class PlantationListeners implements Listener {
         int slot = event.getSlot();
         
         switch (slot) {
+            case 10 -> gui.toggleSetting("inventory");
             case 12 -> gui.toggleSetting("holograms");
             case 14 -> gui.toggleSetting("notifications");
             case 16 -> gui.toggleSetting("particles");
             case 31 -> gui.resetSettings();
+            case 40 -> {
+                OverflowStorageGUI overflowGui = new OverflowStorageGUI(plugin, player);
+                player.openInventory(overflowGui.getInventory());
+                return;
+            }
             case 49 -> player.closeInventory();
         }
         
@@ -415,7 +483,7 @@ public class PlantationListeners implements Listener {
                 player.performCommand("plantation tp");
             } else {
                 player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 1.0f, 1.0f);
-                int requiredLevel = plugin.getConfig().getInt("teleport.minimum_level", 85);
+                int requiredLevel = plugin.getSettings().getTeleportMinimumLevel();
                 player.sendMessage(ChatColor.RED + "You must be at least level " + requiredLevel + " to teleport!");
             }
         } else if (slot == 40) {
@@ -440,6 +508,11 @@ public class PlantationListeners implements Listener {
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
         Block block = event.getBlock();
+
+        if (isPlotIndexLoading(player, block)) {
+            event.setCancelled(true);
+            return;
+        }
         
         // Prevent breaking farm blocks
         FarmType farmType = FarmType.fromBlockType(block.getType());
@@ -460,7 +533,7 @@ public class PlantationListeners implements Listener {
         }
         
         // Prevent building on plantations
-        if (plugin.getConfig().getBoolean("plantations.protection.block_build", true)) {
+        if (plugin.getSettings().isBlockBuild()) {
             UUID owner = findPlantationOwner(block.getLocation());
             if (owner != null && !owner.equals(player.getUniqueId()) && 
                 !player.hasPermission("plantation.admin.build")) {
@@ -475,8 +548,13 @@ public class PlantationListeners implements Listener {
         Player player = event.getPlayer();
         Block block = event.getBlock();
 
+        if (isPlotIndexLoading(player, block)) {
+            event.setCancelled(true);
+            return;
+        }
+
         // Prevent placing on other players' plantations
-        if (plugin.getConfig().getBoolean("plantations.protection.block_build", true)) {
+        if (plugin.getSettings().isBlockBuild()) {
             UUID owner = findPlantationOwner(block.getLocation());
             if (owner != null && !owner.equals(player.getUniqueId()) &&
                 !player.hasPermission("plantation.admin.build")) {
@@ -487,7 +565,7 @@ public class PlantationListeners implements Listener {
         }
 
         // Block placing farm blocks on any plantation
-        if (plugin.getConfig().getBoolean("plantations.protection.block_farm_blocks", true)) {
+        if (plugin.getSettings().isBlockFarmBlocks()) {
             if (FarmType.fromBlockType(block.getType()) != null) {
                 UUID owner = findPlantationOwner(block.getLocation());
                 if (owner != null) {
@@ -505,7 +583,7 @@ public class PlantationListeners implements Listener {
     @EventHandler
     public void onEntityDamage(EntityDamageByEntityEvent event) {
         // Prevent PvP on plantations if configured
-        if (plugin.getConfig().getBoolean("plantations.protection.block_pvp", false)) {
+        if (plugin.getSettings().isBlockPvp()) {
             if (event.getDamager() instanceof Player && event.getEntity() instanceof Player) {
                 Location loc = event.getEntity().getLocation();
                 UUID owner = findPlantationOwner(loc);
@@ -527,35 +605,37 @@ public class PlantationListeners implements Listener {
         return System.currentTimeMillis() - lastTime < cooldown;
     }
 
+    /**
+     * Plot owners aren't known until the saved plots are loaded after startup, so edits in
+     * the plantation world wait for it
+     */
+    private boolean isPlotIndexLoading(Player player, Block block) {
+        PlantationAreaManager areaManager = plugin.getPlantationAreaManager();
+        if (areaManager.isAreasLoaded() || !areaManager.isPlantationWorld(block.getWorld())
+                || player.hasPermission("plantation.admin.build")) {
+            return false;
+        }
+        player.sendMessage(ChatColor.YELLOW + "Plantations are still loading, please wait a moment.");
+        return true;
+    }
+
     private UUID findPlantationOwner(Location location) {
-        // This would need to check all player plantations
-        // For now, simplified implementation
-        for (Player online : plugin.getServer().getOnlinePlayers()) {
-            if (plugin.getPlantationAreaManager().isLocationInPlantation(online.getUniqueId(), location)) {
-                return online.getUniqueId();
-            }
-        }
-        return null;
+        return plugin.getPlantationAreaManager().getPlotOwnerAt(location);
     }
 
-    private boolean canCreateFarm(Player player, FarmType farmType) {
+    private CompletableFuture<Boolean> canCreateFarm(Player player, FarmType farmType) {
         // Berry Orchards is always available
         if (farmType == FarmType.BERRY_ORCHARDS) {
-            return true;
+            return CompletableFuture.completedFuture(true);
         }
         
         // Check if already unlocked
-        if (plugin.getDatabaseManager().isFarmUnlocked(player.getUniqueId(), farmType.getId())) {
-            return true;
-        }
-        
-        // Check if can unlock now
-        if (plugin.getPlantationManager().canUnlockFarm(player.getUniqueId(), farmType)) {
-            // Try to unlock
-            return plugin.getPlantationManager().unlockFarm(player.getUniqueId(), farmType);
+        if (plugin.getPlantationManager().isFarmUnlocked(player.getUniqueId(), farmType)) {
+            return CompletableFuture.completedFuture(true);
         }
         
-        return false;
+        // Try to unlock now; fails if the requirements aren't met
+        return plugin.getPlantationManager().unlockFarm(player.getUniqueId(), farmType);
     }
 
     private void showUnlockRequirements(Player player, FarmType farmType) {
@@ -0,0 +1,315 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.scheduler.BukkitTask;
+import org.maks.farmingPlugin.FarmingPlugin;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Applies large block changes over several ticks. Changes of a batch are grouped by chunk,
+ * written without physics updates and capped per tick; unloaded chunks are loaded
+ * asynchronously before their changes are applied. Main thread only.
+ */
+public class BlockEditQueue {
+
+    /**
+     * Block changes to apply together. Setting the same block twice keeps the last value.
+     */
+    public static class Batch {
+        private final World world;
+        // Chunk key -> packed block position -> new data, in insertion order
+        private final Map<Long, Map<Long, BlockData>> chunks = new LinkedHashMap<>();
+        private final Map<Material, BlockData> dataCache = new EnumMap<>(Material.class);
+        // Positions whose state may legitimately change in the world; diffs only compare their type
+        private final Set<Long> typeOnly = new HashSet<>();
+        private int size;
+
+        public Batch(World world) {
+            this.world = world;
+        }
+
+        public Batch set(int x, int y, int z, Material material) {
+            return set(x, y, z, dataCache.computeIfAbsent(material, Material::createBlockData));
+        }
+
+        /**
+         * Set a block whose state may change after placement (crop age, sign text), so
+         * {@link #diff(Map)} only checks that the block type still matches
+         */
+        public Batch setType(int x, int y, int z, Material material) {
+            set(x, y, z, material);
+            typeOnly.add(packPosition(x, y, z));
+            return this;
+        }
+
+        public Batch set(int x, int y, int z, BlockData data) {
+            Map<Long, BlockData> changes = chunks.computeIfAbsent(chunkKey(x >> 4, z >> 4), k -> new LinkedHashMap<>());
+            if (changes.put(packPosition(x, y, z), data) == null) {
+                size++;
+            }
+            return this;
+        }
+
+        public boolean contains(int x, int y, int z) {
+            Map<Long, BlockData> changes = chunks.get(chunkKey(x >> 4, z >> 4));
+            return changes != null && changes.containsKey(packPosition(x, y, z));
+        }
+
+        /**
+         * Keys of the chunks this batch touches; see {@link #chunkX(long)} and {@link #chunkZ(long)}
+         */
+        public Set<Long> getChunkKeys() {
+            return Collections.unmodifiableSet(chunks.keySet());
+        }
+
+        /**
+         * The changes whose block differs from the snapshot of its chunk. Chunks without a
+         * snapshot are kept whole. Does not touch the world, so it may run off the main thread.
+         */
+        public Batch diff(Map<Long, ChunkSnapshot> snapshots) {
+            Batch differences = new Batch(world);
+            for (Map.Entry<Long, Map<Long, BlockData>> chunk : chunks.entrySet()) {
+                ChunkSnapshot snapshot = snapshots.get(chunk.getKey());
+                for (Map.Entry<Long, BlockData> change : chunk.getValue().entrySet()) {
+                    long position = change.getKey();
+                    if (snapshot == null || !matches(snapshot, position, change.getValue())) {
+                        differences.chunks.computeIfAbsent(chunk.getKey(), k -> new LinkedHashMap<>())
+                                .put(position, change.getValue());
+                        differences.size++;
+                    }
+                }
+            }
+            return differences;
+        }
+
+        private boolean matches(ChunkSnapshot snapshot, long position, BlockData expected) {
+            int x = unpackX(position) & 15;
+            int y = unpackY(position);
+            int z = unpackZ(position) & 15;
+            if (typeOnly.contains(position)) {
+                return snapshot.getBlockType(x, y, z) == expected.getMaterial();
+            }
+            return snapshot.getBlockData(x, y, z).equals(expected);
+        }
+
+        public World getWorld() {
+            return world;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+    private static final class Job {
+        private final World world;
+        private final Iterator<Map.Entry<Long, Map<Long, BlockData>>> chunks;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private Iterator<Map.Entry<Long, BlockData>> changes;
+        private Chunk ticketChunk;
+        private boolean loading;
+
+        private Job(Batch batch) {
+            this.world = batch.world;
+            this.chunks = batch.chunks.entrySet().iterator();
+        }
+    }
+
+    private final FarmingPlugin plugin;
+    private final Deque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+    private boolean shutdown;
+
+    public BlockEditQueue(FarmingPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queue a batch behind the ones already submitted
+     *
+     * @return future completed on the main thread once every change is applied
+     */
+    public CompletableFuture<Void> submit(Batch batch) {
+        if (batch.isEmpty() || batch.world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Job job = new Job(batch);
+        if (shutdown) {
+            applyAll(job);
+            return job.future;
+        }
+
+        jobs.add(job);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return job.future;
+    }
+
+    public int getPendingBatches() {
+        return jobs.size();
+    }
+
+    private void tick() {
+        int budget = plugin.getSettings().getBlocksPerTick();
+
+        while (budget > 0 && !jobs.isEmpty()) {
+            Job job = jobs.peek();
+            // Batches are applied strictly in order, so wait for the chunk instead of skipping ahead
+            if (job.loading) break;
+
+            try {
+                if (job.changes == null || !job.changes.hasNext()) {
+                    releaseChunk(job);
+                    if (!job.chunks.hasNext()) {
+                        jobs.poll();
+                        job.future.complete(null);
+                    } else {
+                        openChunk(job, job.chunks.next());
+                    }
+                    continue;
+                }
+
+                while (budget > 0 && job.changes.hasNext()) {
+                    Map.Entry<Long, BlockData> change = job.changes.next();
+                    apply(job.world, change.getKey(), change.getValue());
+                    budget--;
+                }
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to apply block changes", e);
+                releaseChunk(job);
+                jobs.poll();
+                job.future.completeExceptionally(e);
+            }
+        }
+
+        if (jobs.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void openChunk(Job job, Map.Entry<Long, Map<Long, BlockData>> entry) {
+        job.changes = entry.getValue().entrySet().iterator();
+        int chunkX = chunkX(entry.getKey());
+        int chunkZ = chunkZ(entry.getKey());
+
+        if (job.world.isChunkLoaded(chunkX, chunkZ)) {
+            holdChunk(job, job.world.getChunkAt(chunkX, chunkZ));
+            return;
+        }
+
+        job.loading = true;
+        job.world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, error) -> {
+            job.loading = false;
+            if (error != null) {
+                // Fall back to loading the chunk when the first block is set
+                plugin.getLogger().log(Level.WARNING, "Could not load chunk " + chunkX + ", " + chunkZ + " ahead of block changes", error);
+            } else if (chunk != null && !shutdown) {
+                holdChunk(job, chunk);
+            }
+        });
+    }
+
+    private void holdChunk(Job job, Chunk chunk) {
+        // Keep the chunk loaded while its changes are spread over several ticks
+        chunk.addPluginChunkTicket(plugin);
+        job.ticketChunk = chunk;
+    }
+
+    private void releaseChunk(Job job) {
+        if (job.ticketChunk != null) {
+            job.ticketChunk.removePluginChunkTicket(plugin);
+            job.ticketChunk = null;
+        }
+    }
+
+    private void apply(World world, long position, BlockData data) {
+        world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position)).setBlockData(data, false);
+    }
+
+    /**
+     * Apply everything still queued synchronously; called while the plugin disables
+     */
+    public void shutdown() {
+        shutdown = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        int applied = 0;
+        Job job;
+        while ((job = jobs.poll()) != null) {
+            job.loading = false;
+            applied++;
+            applyAll(job);
+        }
+        if (applied > 0) {
+            plugin.getLogger().info("Applied " + applied + " pending block change batch(es)");
+        }
+    }
+
+    private void applyAll(Job job) {
+        try {
+            do {
+                if (job.changes != null) {
+                    while (job.changes.hasNext()) {
+                        Map.Entry<Long, BlockData> change = job.changes.next();
+                        apply(job.world, change.getKey(), change.getValue());
+                    }
+                }
+                job.changes = job.chunks.hasNext() ? job.chunks.next().getValue().entrySet().iterator() : null;
+            } while (job.changes != null);
+            job.future.complete(null);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to apply block changes", e);
+            job.future.completeExceptionally(e);
+        } finally {
+            releaseChunk(job);
+        }
+    }
+
+    // Block positions are packed like Minecraft's BlockPos: 26 bits x, 26 bits z, 12 bits y
+
+    private static long packPosition(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (y & 0xFFFL);
+    }
+
+    private static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    private static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    private static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+}
@@ -3,35 +3,55 @@ package org.maks.farmingPlugin.managers;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Display;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.TextDisplay;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.Transformation;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
+import org.maks.farmingPlugin.farms.PlayerProfile;
+import org.joml.Vector3f;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Optimized hologram manager with reduced update frequency
+ * Optimized hologram manager with reduced update frequency.
+ * Each farm has a single non-persistent TextDisplay that only its owner can see;
+ * updates edit the text in place instead of respawning entities.
  */
 public class HologramManager {
     
     private final FarmingPlugin plugin;
-    private final Map<String, List<ArmorStand>> holograms = new ConcurrentHashMap<>();
+    private final Map<String, TextDisplay> holograms = new ConcurrentHashMap<>();
     private final Map<String, Long> lastUpdateTimes = new ConcurrentHashMap<>();
+    private final Map<String, String[]> renderedLines = new ConcurrentHashMap<>();
     private final boolean enabled;
-    private final double yOffset;
     private BukkitRunnable updateTask;
     private static final long UPDATE_COOLDOWN = 1000; // 1 second minimum between updates
 
+    // Hologram line layout; the efficiency line is null until the farm is upgraded
+    private static final int LINE_TITLE = 0;
+    private static final int LINE_STATUS = 1;
+    private static final int LINE_STORAGE = 2;
+    private static final int LINE_EFFICIENCY = 3;
+    private static final int LINE_COUNT = 4;
+    private static final String READY_LINE = ChatColor.GREEN.toString() + ChatColor.BOLD + "✔ READY TO HARVEST!";
+
+    // Static lines rendered once
+    private final Map<FarmType, String> titleLines = new EnumMap<>(FarmType.class);
+    private final Map<Integer, String> efficiencyLines = new ConcurrentHashMap<>();
+
     public HologramManager(FarmingPlugin plugin) {
         this.plugin = plugin;
         this.enabled = plugin.getConfig().getBoolean("plantations.holograms.enabled", true);
-        this.yOffset = plugin.getConfig().getDouble("plantation.holograms.y_offset", 2.0);
+
+        for (FarmType type : FarmType.values()) {
+            titleLines.put(type, ChatColor.YELLOW + type.getDisplayName());
+        }
         
         if (enabled) {
             startUpdateTask();
@@ -61,94 +81,127 @@ public class HologramManager {
             return; // Skip update if too soon
         }
 
-        // Remove old hologram if exists
-        removeHologram(hologramKey);
+        // Respect the owner's hologram setting
+        PlayerProfile profile = plugin.getPlantationManager().getProfile(farm.getOwnerId());
+        if (profile != null && !profile.isHologramsEnabled()) {
+            removeHologram(hologramKey);
+            return;
+        }
 
-        // Create new hologram lines
-        List<String> lines = generateHologramLines(farm);
+        String[] lines = generateHologramLines(farm);
         Location baseLocation = holoLoc(farm.getLocation());
 
-        createHologram(hologramKey, baseLocation, lines);
+        TextDisplay display = holograms.get(hologramKey);
+        if (display != null && display.isValid()) {
+            if (!display.getLocation().equals(baseLocation)) {
+                display.teleport(baseLocation);
+            }
+            // Only touch the entity when a line actually changed
+            if (!Arrays.equals(lines, renderedLines.get(hologramKey))) {
+                display.setText(joinLines(lines));
+            }
+            showToOwner(farm.getOwnerId(), display);
+        } else {
+            holograms.put(hologramKey, createHologram(farm.getOwnerId(), baseLocation, joinLines(lines)));
+        }
+        renderedLines.put(hologramKey, lines);
         lastUpdateTimes.put(hologramKey, System.currentTimeMillis());
     }
 
+    private String joinLines(String[] lines) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            if (line == null) continue;
+            if (text.length() > 0) text.append('\n');
+            text.append(line);
+        }
+        return text.toString();
+    }
+
     private Location holoLoc(Location base) {
-        return base.clone().add(0.5, yOffset, 0.5);
+        return base.clone().add(0.5, plugin.getSettings().getHologramYOffset(), 0.5);
     }
 
     /**
-     * Generate hologram text lines for a farm
+     * Generate hologram text lines for a farm; static lines are shared instances
      */
-    private List<String> generateHologramLines(FarmInstance farm) {
-        List<String> lines = new ArrayList<>();
+    private String[] generateHologramLines(FarmInstance farm) {
+        String[] lines = new String[LINE_COUNT];
         
         // Farm title only
-        lines.add(ChatColor.YELLOW + farm.getFarmType().getDisplayName());
+        lines[LINE_TITLE] = titleLines.get(farm.getFarmType());
         
         // Growth status
         if (farm.isReadyForHarvest()) {
-            lines.add(ChatColor.GREEN.toString() + ChatColor.BOLD.toString() + "✔ READY TO HARVEST!");
+            lines[LINE_STATUS] = READY_LINE;
         } else {
             long timeLeft = farm.getTimeUntilNextHarvest();
-            String timeString = formatTime(timeLeft);
-            lines.add(ChatColor.YELLOW + "Next: " + ChatColor.WHITE + timeString);
+            lines[LINE_STATUS] = ChatColor.YELLOW + "Next: " + ChatColor.WHITE + formatTime(timeLeft);
         }
 
         // Storage capacity
         long stored = Math.min(farm.getMaxStorage(),
                 (System.currentTimeMillis() - farm.getLastHarvest()) / farm.getAdjustedGrowthTime());
-        lines.add(ChatColor.GRAY + "Storage: " + ChatColor.WHITE + stored + "/" + farm.getMaxStorage());
+        lines[LINE_STORAGE] = ChatColor.GRAY + "Storage: " + ChatColor.WHITE + stored + "/" + farm.getMaxStorage();
 
         // Efficiency if upgraded
         if (farm.getEfficiency() > 1) {
-            lines.add(ChatColor.AQUA + "⚡ Efficiency: " + farm.getEfficiency() + "x");
+            lines[LINE_EFFICIENCY] = efficiencyLines.computeIfAbsent(farm.getEfficiency(),
+                    e -> ChatColor.AQUA + "⚡ Efficiency: " + e + "x");
         }
         
         return lines;
     }
 
     /**
-     * Create hologram at location with specified lines
+     * Spawn a hologram that is hidden from everyone but the farm owner.
+     * It is not saved with the chunk, so nothing is left behind after a restart.
      */
-    private void createHologram(String key, Location baseLocation, List<String> lines) {
-        List<ArmorStand> stands = new ArrayList<>();
-        
-        double yOffset = 0;
-        for (String line : lines) {
-            if (line == null || line.isEmpty()) continue;
-            
-            Location lineLocation = baseLocation.clone().add(0, yOffset, 0);
-            
-            ArmorStand stand = (ArmorStand) baseLocation.getWorld().spawnEntity(lineLocation, EntityType.ARMOR_STAND);
-            stand.setVisible(false);
-            stand.setGravity(false);
-            stand.setCanPickupItems(false);
-            stand.setCustomNameVisible(true);
-            stand.setCustomName(line);
-            stand.setMarker(true);
-            stand.setSmall(true);
-            stand.setInvulnerable(true);
-            
-            stands.add(stand);
-            yOffset -= 0.25; // Line spacing
+    private TextDisplay createHologram(UUID ownerId, Location baseLocation, String text) {
+        TextDisplay display = baseLocation.getWorld().spawn(baseLocation, TextDisplay.class, d -> {
+            d.setPersistent(false);
+            d.setVisibleByDefault(false);
+            d.setBillboard(Display.Billboard.CENTER);
+            d.setText(text);
+        });
+
+        showToOwner(ownerId, display);
+        return display;
+    }
+
+    /**
+     * Displays are hidden by default and visibility is per player session, so the owner has
+     * to be shown a display again after relogging
+     */
+    private void showToOwner(UUID ownerId, TextDisplay display) {
+        Player owner = Bukkit.getPlayer(ownerId);
+        if (owner != null && !owner.canSee(display)) {
+            owner.showEntity(plugin, display);
+        }
+    }
+
+    /**
+     * Show a player the holograms of their farms that already exist, e.g. when they join
+     */
+    public void showPlayerHolograms(Player player) {
+        String prefix = player.getUniqueId().toString() + "_";
+        for (Map.Entry<String, TextDisplay> entry : holograms.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && entry.getValue().isValid()) {
+                showToOwner(player.getUniqueId(), entry.getValue());
+            }
         }
-        
-        holograms.put(key, stands);
     }
 
     /**
      * Remove hologram
      */
     public void removeHologram(String key) {
-        List<ArmorStand> stands = holograms.remove(key);
-        if (stands != null) {
-            for (ArmorStand stand : stands) {
-                if (stand != null && stand.isValid()) {
-                    stand.remove();
-                }
-            }
+        TextDisplay display = holograms.remove(key);
+        if (display != null && display.isValid()) {
+            display.remove();
         }
         lastUpdateTimes.remove(key);
+        renderedLines.remove(key);
     }
 
     /**
@@ -163,18 +216,17 @@ public class HologramManager {
      */
     public void removePlayerHolograms(UUID playerUuid) {
         String prefix = playerUuid.toString() + "_";
-        Iterator<Map.Entry<String, List<ArmorStand>>> iterator = holograms.entrySet().iterator();
+        Iterator<Map.Entry<String, TextDisplay>> iterator = holograms.entrySet().iterator();
         
         while (iterator.hasNext()) {
-            Map.Entry<String, List<ArmorStand>> entry = iterator.next();
+            Map.Entry<String, TextDisplay> entry = iterator.next();
             if (entry.getKey().startsWith(prefix)) {
-                for (ArmorStand stand : entry.getValue()) {
-                    if (stand != null && stand.isValid()) {
-                        stand.remove();
-                    }
+                if (entry.getValue().isValid()) {
+                    entry.getValue().remove();
                 }
                 iterator.remove();
                 lastUpdateTimes.remove(entry.getKey());
+                renderedLines.remove(entry.getKey());
             }
         }
     }
@@ -195,17 +247,16 @@ public class HologramManager {
                         // Only update if hologram doesn't exist or needs updating
                         boolean needsUpdate = false;
                         
-                        if (!holograms.containsKey(key)) {
-                            needsUpdate = true; // Hologram doesn't exist
+                        TextDisplay display = holograms.get(key);
+                        if (display == null || !display.isValid()) {
+                            needsUpdate = true; // Hologram doesn't exist or was unloaded with its chunk
                         } else {
                             // Check if content has changed significantly
+                            // Readiness is pushed by the growth scheduler; this only refreshes countdowns
                             Long lastUpdate = lastUpdateTimes.get(key);
                             if (lastUpdate == null || System.currentTimeMillis() - lastUpdate > 30000) {
                                 // Update every 30 seconds at most
                                 needsUpdate = true;
-                            } else if (farm.isReadyForHarvest()) {
-                                // Always update when ready for harvest
-                                needsUpdate = true;
                             }
                         }
                         
@@ -227,9 +278,13 @@ public class HologramManager {
     }
 
     /**
-     * Start the hologram update task (reduced frequency)
+     * (Re)start the hologram update task with the configured interval
      */
-    private void startUpdateTask() {
+    public void startUpdateTask() {
+        if (!enabled) return;
+        if (updateTask != null && !updateTask.isCancelled()) {
+            updateTask.cancel();
+        }
         updateTask = new BukkitRunnable() {
             @Override
             public void run() {
@@ -237,8 +292,8 @@ public class HologramManager {
             }
         };
         
-        // Update every minute (1200 ticks = 60 seconds)
-        updateTask.runTaskTimer(plugin, 100L, 1200L);
+        long interval = 20L * plugin.getSettings().getHologramUpdateSeconds();
+        updateTask.runTaskTimer(plugin, 100L, interval);
     }
 
     /**
@@ -250,16 +305,15 @@ public class HologramManager {
         }
         
         // Remove all holograms
-        for (List<ArmorStand> stands : holograms.values()) {
-            for (ArmorStand stand : stands) {
-                if (stand != null && stand.isValid()) {
-                    stand.remove();
-                }
+        for (TextDisplay display : holograms.values()) {
+            if (display.isValid()) {
+                display.remove();
             }
         }
         
         holograms.clear();
         lastUpdateTimes.clear();
+        renderedLines.clear();
     }
 
     /**
@@ -268,40 +322,29 @@ public class HologramManager {
     public void showFloatingText(Location location, String text, long durationMillis) {
         if (!enabled) return;
         
-        ArmorStand stand = (ArmorStand) location.getWorld().spawnEntity(
-            holoLoc(location), EntityType.ARMOR_STAND);
+        int maxTicks = (int) (durationMillis / 50);
+        TextDisplay display = location.getWorld().spawn(holoLoc(location), TextDisplay.class, d -> {
+            d.setPersistent(false);
+            d.setBillboard(Display.Billboard.CENTER);
+            d.setText(ChatColor.translateAlternateColorCodes('&', text));
+        });
         
-        stand.setVisible(false);
-        stand.setGravity(false);
-        stand.setCanPickupItems(false);
-        stand.setCustomNameVisible(true);
-        stand.setCustomName(ChatColor.translateAlternateColorCodes('&', text));
-        stand.setMarker(true);
-        stand.setSmall(true);
-        stand.setInvulnerable(true);
+        // Animate upward on the client through transformation interpolation; no per-tick teleports
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (!display.isValid()) return;
+            Transformation current = display.getTransformation();
+            display.setInterpolationDelay(0);
+            display.setInterpolationDuration(maxTicks);
+            display.setTransformation(new Transformation(
+                new Vector3f(0, 0.02f * maxTicks, 0),
+                current.getLeftRotation(), current.getScale(), current.getRightRotation()));
+        }, 1L);
         
-        // Animate upward and fade
-        new BukkitRunnable() {
-            int ticks = 0;
-            final int maxTicks = (int) (durationMillis / 50);
-            
-            @Override
-            public void run() {
-                if (ticks >= maxTicks || !stand.isValid()) {
-                    if (stand.isValid()) {
-                        stand.remove();
-                    }
-                    cancel();
-                    return;
-                }
-                
-                // Move up slightly
-                Location newLoc = stand.getLocation().add(0, 0.02, 0);
-                stand.teleport(newLoc);
-                
-                ticks++;
+        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            if (display.isValid()) {
+                display.remove();
             }
-        }.runTaskTimer(plugin, 0L, 1L);
+        }, maxTicks);
     }
 
     /**
@@ -1,24 +1,54 @@
 package org.maks.farmingPlugin.managers;
 
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.maks.farmingPlugin.FarmingPlugin;
 import org.maks.farmingPlugin.farms.FarmInstance;
+import org.maks.farmingPlugin.farms.PlayerProfile;
 
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.*;
 
+/**
+ * Schedules farm growth events for online players. Each farm has its next "ready" and
+ * "storage full" times in a priority queue, and a once-per-second tick only pops what is due,
+ * so the work follows the number of events rather than the number of farms.
+ * Entries are invalidated lazily: rescheduling a farm bumps its version and older entries
+ * are dropped when they reach the head of the queue.
+ */
 public class OfflineGrowthManager {
     private final FarmingPlugin plugin;
     private final PlantationManager plantationManager;
-    private final ConcurrentMap<UUID, Long> playerLastSeen;
+    private final PriorityQueue<GrowthEvent> queue;
+    private final Map<FarmInstance, Integer> versions;
     private BukkitRunnable growthTask;
 
+    private enum EventType {
+        READY,
+        STORAGE_FULL
+    }
+
+    private static final class GrowthEvent {
+        private final FarmInstance farm;
+        private final EventType type;
+        private final long dueTime;
+        private final int version;
+
+        private GrowthEvent(FarmInstance farm, EventType type, long dueTime, int version) {
+            this.farm = farm;
+            this.type = type;
+            this.dueTime = dueTime;
+            this.version = version;
+        }
+    }
+
     public OfflineGrowthManager(FarmingPlugin plugin, PlantationManager plantationManager) {
         this.plugin = plugin;
         this.plantationManager = plantationManager;
-        this.playerLastSeen = new ConcurrentHashMap<>();
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(e -> e.dueTime));
+        this.versions = new HashMap<>();
         startGrowthTask();
     }
 
@@ -26,93 +56,118 @@ public class OfflineGrowthManager {
         growthTask = new BukkitRunnable() {
             @Override
             public void run() {
-                processAllFarmGrowth();
+                processDueEvents();
             }
         };
 
         // Run synchronously to avoid async world interactions
-        growthTask.runTaskTimer(plugin, 20L * 60L, 20L * 60L);
+        growthTask.runTaskTimer(plugin, 20L, 20L);
     }
 
-    public void processAllFarmGrowth() {
-        for (UUID playerId : playerLastSeen.keySet()) {
-            processPlayerFarmGrowth(playerId);
+    /**
+     * (Re)schedule the growth events of a farm. Call after anything that changes its
+     * last harvest time, growth time or storage capacity. Only online owners are tracked.
+     */
+    public void scheduleFarm(FarmInstance farm) {
+        if (Bukkit.getPlayer(farm.getOwnerId()) == null) return;
+
+        int version = versions.merge(farm, 1, Integer::sum);
+        long now = System.currentTimeMillis();
+
+        // Events already in the past were covered by the join summary or the harvest itself
+        long readyTime = getDueTime(farm, EventType.READY);
+        if (readyTime > now) {
+            queue.add(new GrowthEvent(farm, EventType.READY, readyTime, version));
+        }
+        long fullTime = getDueTime(farm, EventType.STORAGE_FULL);
+        if (fullTime > now) {
+            queue.add(new GrowthEvent(farm, EventType.STORAGE_FULL, fullTime, version));
         }
     }
 
-    private void processPlayerFarmGrowth(UUID playerId) {
-        try {
-            for (FarmInstance farm : plantationManager.getPlayerFarms(playerId)) {
-                processOfflineGrowth(farm);
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Error processing farm growth for player " + playerId + ": " + e.getMessage());
+    public void schedulePlayer(UUID playerId) {
+        for (FarmInstance farm : plantationManager.getPlayerFarms(playerId)) {
+            scheduleFarm(farm);
         }
     }
 
-    public void processOfflineGrowth(FarmInstance farm) {
-        // Only update growth state; harvesting happens when player interacts
-        if (farm.isReadyForHarvest()) {
-            return;
-        }
-        // Additional non-world updates could go here
+    public void unschedulePlayer(UUID playerId) {
+        versions.keySet().removeIf(farm -> farm.getOwnerId().equals(playerId));
+        queue.removeIf(event -> event.farm.getOwnerId().equals(playerId));
     }
 
-    public void onPlayerJoin(UUID playerId) {
-        playerLastSeen.put(playerId, System.currentTimeMillis());
+    public void clearAll() {
+        queue.clear();
+        versions.clear();
+    }
 
-        // Process on main thread after short delay
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            try {
-                for (FarmInstance farm : plantationManager.getPlayerFarms(playerId)) {
-                    processOfflineGrowth(farm);
-                }
-
-                // Save data asynchronously
-                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                    plantationManager.savePlayerData(playerId);
-                });
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error processing offline growth for player " + playerId + ": " + e.getMessage());
-            }
-        }, 20L);
+    private long getDueTime(FarmInstance farm, EventType type) {
+        return switch (type) {
+            case READY -> farm.getNextHarvestTime();
+            case STORAGE_FULL -> farm.getLastHarvest() + farm.getAdjustedGrowthTime() * farm.getMaxStorage();
+        };
     }
 
-    public void onPlayerQuit(UUID playerId) {
-        playerLastSeen.put(playerId, System.currentTimeMillis());
+    private void processDueEvents() {
+        long now = System.currentTimeMillis();
+        while (!queue.isEmpty() && queue.peek().dueTime <= now) {
+            GrowthEvent event = queue.poll();
+            Integer version = versions.get(event.farm);
+            if (version == null || version != event.version) continue;
+
+            // The farm may have changed without being rescheduled; move the event if so
+            long dueTime = getDueTime(event.farm, event.type);
+            if (dueTime > now) {
+                queue.add(new GrowthEvent(event.farm, event.type, dueTime, event.version));
+                continue;
+            }
 
-        // Save player data asynchronously
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
             try {
-                plantationManager.savePlayerData(playerId);
+                fire(event);
             } catch (Exception e) {
-                plugin.getLogger().warning("Error saving player data on quit for " + playerId + ": " + e.getMessage());
+                plugin.getLogger().warning("Error processing farm growth for player " + event.farm.getOwnerId() + ": " + e.getMessage());
             }
-        });
+        }
     }
 
-    public void shutdown() {
-        if (growthTask != null && !growthTask.isCancelled()) {
-            growthTask.cancel();
+    private void fire(GrowthEvent event) {
+        FarmInstance farm = event.farm;
+        Player player = Bukkit.getPlayer(farm.getOwnerId());
+        if (player == null) return;
+
+        if (plugin.getHologramManager() != null) {
+            plugin.getHologramManager().updateHologram(farm, true);
         }
-        
-        for (UUID playerId : playerLastSeen.keySet()) {
-            try {
-                for (FarmInstance farm : plantationManager.getPlayerFarms(playerId)) {
-                    processOfflineGrowth(farm);
-                }
-                plantationManager.savePlayerData(playerId);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error processing final growth for player " + playerId + ": " + e.getMessage());
-            }
+
+        PlayerProfile profile = plantationManager.getProfile(farm.getOwnerId());
+        if (profile != null && !profile.isNotificationsEnabled()) return;
+
+        String farmName = farm.getFarmType().getDisplayName() + " #" + farm.getInstanceId();
+        if (event.type == EventType.READY) {
+            player.sendMessage(ChatColor.GREEN + "✦ Your " + farmName + " is ready to harvest!");
+            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_CHIME, 0.7f, 1.2f);
+        } else {
+            player.sendMessage(ChatColor.YELLOW + "⚠ Your " + farmName + " storage is full! " +
+                    ChatColor.GRAY + "Harvest it to keep it producing.");
+            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_BASS, 0.7f, 1.0f);
         }
     }
 
-    public long getPlayerLastSeen(UUID playerId) {
-        return playerLastSeen.getOrDefault(playerId, System.currentTimeMillis());
+    public void onPlayerJoin(UUID playerId) {
+        schedulePlayer(playerId);
+    }
+
+    public void onPlayerQuit(UUID playerId) {
+        unschedulePlayer(playerId);
+
+        // Queue any pending changes for the write-behind flusher
+        plantationManager.savePlayerData(playerId);
     }
 
-    public void registerPlayer(UUID playerId) {
-        playerLastSeen.putIfAbsent(playerId, System.currentTimeMillis());
+    public void shutdown() {
+        if (growthTask != null && !growthTask.isCancelled()) {
+            growthTask.cancel();
+        }
+        clearAll();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,337 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.database.PersistenceExecutor;
+import org.maks.farmingPlugin.fruits.FruitType;
+import org.maks.farmingPlugin.materials.MaterialType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Per-player buffer for harvest items that did not fit into the inventory when the
+ * player harvests straight to inventory. Buffers are loaded with the player's data,
+ * changed on the main thread and persisted by a coalesced async flush.
+ */
+public class OverflowStorageManager {
+    private static final long FLUSH_DELAY_TICKS = 20L;
+
+    private final FarmingPlugin plugin;
+    private final Map<UUID, Map<String, Integer>> buffers;
+    private final Map<UUID, Set<String>> changedKeys;
+    // Players whose stored buffer has been installed; nothing is buffered or written before that
+    private final Set<UUID> loadedPlayers;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    public OverflowStorageManager(FarmingPlugin plugin) {
+        this.plugin = plugin;
+        this.buffers = new ConcurrentHashMap<>();
+        this.changedKeys = new ConcurrentHashMap<>();
+        this.loadedPlayers = ConcurrentHashMap.newKeySet();
+    }
+
+    // Item keys
+    public static String fruitKey(FruitType fruitType) {
+        return "fruit:" + fruitType.getId();
+    }
+
+    public static String materialKey(MaterialType materialType, int tier) {
+        return "material:" + materialType.getId() + ":" + tier;
+    }
+
+    /**
+     * Create a single item for a buffer key, or null if the key no longer resolves
+     */
+    public ItemStack createItem(String key) {
+        String[] parts = key.split(":");
+        if (parts.length == 2 && parts[0].equals("fruit")) {
+            FruitType fruitType = FruitType.fromId(parts[1]);
+            return fruitType != null ? fruitType.createItem(1) : null;
+        }
+        if (parts.length == 3 && parts[0].equals("material")) {
+            MaterialType materialType = MaterialType.fromId(parts[1]);
+            if (materialType == null) return null;
+            try {
+                return plugin.getMaterialManager().createMaterial(materialType, Integer.parseInt(parts[2]), 1);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read a player's buffer; called from the async player data load
+     */
+    public Map<String, Integer> loadBuffer(Connection conn, UUID playerUuid) throws SQLException {
+        Map<String, Integer> buffer = new LinkedHashMap<>();
+        String sql = "SELECT item_key, amount FROM farming_overflow_storage WHERE uuid = ? AND amount > 0";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    buffer.put(rs.getString("item_key"), rs.getInt("amount"));
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Install a loaded buffer. Flushes write absolute amounts, so nothing is buffered before
+     * this and the stored amounts are taken as they are.
+     */
+    public void installBuffer(UUID playerUuid, Map<String, Integer> loaded) {
+        if (!loadedPlayers.add(playerUuid)) return;
+        buffers.put(playerUuid, new ConcurrentHashMap<>(loaded));
+    }
+
+    public boolean isLoaded(UUID playerUuid) {
+        return loadedPlayers.contains(playerUuid);
+    }
+
+    public Map<String, Integer> getBuffer(UUID playerUuid) {
+        Map<String, Integer> buffer = buffers.get(playerUuid);
+        return buffer != null ? Collections.unmodifiableMap(buffer) : Collections.emptyMap();
+    }
+
+    public int getTotalBuffered(UUID playerUuid) {
+        int total = 0;
+        for (int amount : getBuffer(playerUuid).values()) {
+            total += amount;
+        }
+        return total;
+    }
+
+    /**
+     * Put items into the player's inventory as full stacks and buffer whatever does not fit.
+     * No item entities are spawned unless the buffer isn't loaded yet, in which case the rest
+     * is dropped at the player.
+     *
+     * @return the amount that went to the overflow buffer
+     */
+    public int deliver(Player player, String key, ItemStack template, int amount) {
+        int leftover = addToInventory(player, template, amount);
+        if (leftover <= 0) {
+            return 0;
+        }
+        if (!isLoaded(player.getUniqueId())) {
+            // Buffering now would be replaced by, or counted twice with, the stored buffer
+            dropAtPlayer(player, template, leftover);
+            return 0;
+        }
+        addToBuffer(player.getUniqueId(), key, leftover);
+        return leftover;
+    }
+
+    /**
+     * Move one buffered item into the player's inventory
+     *
+     * @return the amount claimed
+     */
+    public int claim(Player player, String key) {
+        UUID uuid = player.getUniqueId();
+        Map<String, Integer> buffer = buffers.get(uuid);
+        if (buffer == null) return 0;
+
+        Integer stored = buffer.get(key);
+        if (stored == null || stored <= 0) return 0;
+
+        ItemStack template = createItem(key);
+        if (template == null) return 0;
+
+        int leftover = addToInventory(player, template, stored);
+        setBuffered(uuid, key, leftover);
+        return stored - leftover;
+    }
+
+    /**
+     * Move as much of the buffer as fits into the player's inventory
+     *
+     * @return the amount claimed
+     */
+    public int claimAll(Player player) {
+        Map<String, Integer> buffer = buffers.get(player.getUniqueId());
+        if (buffer == null) return 0;
+
+        int claimed = 0;
+        for (String key : new ArrayList<>(buffer.keySet())) {
+            claimed += claim(player, key);
+        }
+        return claimed;
+    }
+
+    public void clearPlayer(UUID playerUuid) {
+        loadedPlayers.remove(playerUuid);
+        buffers.remove(playerUuid);
+        changedKeys.remove(playerUuid);
+    }
+
+    public void clearAll() {
+        loadedPlayers.clear();
+        buffers.clear();
+        changedKeys.clear();
+    }
+
+    private int addToInventory(Player player, ItemStack template, int amount) {
+        int maxStack = Math.max(1, template.getMaxStackSize());
+        while (amount > 0) {
+            ItemStack stack = template.clone();
+            stack.setAmount(Math.min(maxStack, amount));
+            amount -= stack.getAmount();
+
+            HashMap<Integer, ItemStack> rest = player.getInventory().addItem(stack);
+            if (!rest.isEmpty()) {
+                // Inventory is full; the rest of this stack and everything after it overflows
+                for (ItemStack item : rest.values()) {
+                    amount += item.getAmount();
+                }
+                break;
+            }
+        }
+        return amount;
+    }
+
+    private void dropAtPlayer(Player player, ItemStack template, int amount) {
+        int maxStack = Math.max(1, template.getMaxStackSize());
+        while (amount > 0) {
+            ItemStack stack = template.clone();
+            stack.setAmount(Math.min(maxStack, amount));
+            amount -= stack.getAmount();
+            player.getWorld().dropItemNaturally(player.getLocation(), stack);
+        }
+    }
+
+    private Map<String, Integer> getOrCreateBuffer(UUID playerUuid) {
+        return buffers.computeIfAbsent(playerUuid, k -> new ConcurrentHashMap<>());
+    }
+
+    private void addToBuffer(UUID playerUuid, String key, int amount) {
+        getOrCreateBuffer(playerUuid).merge(key, amount, Integer::sum);
+        markChanged(playerUuid, key);
+    }
+
+    private void setBuffered(UUID playerUuid, String key, int amount) {
+        Map<String, Integer> buffer = getOrCreateBuffer(playerUuid);
+        if (amount > 0) {
+            buffer.put(key, amount);
+        } else {
+            buffer.remove(key);
+        }
+        markChanged(playerUuid, key);
+    }
+
+    private void markChanged(UUID playerUuid, String key) {
+        changedKeys.computeIfAbsent(playerUuid, k -> ConcurrentHashMap.newKeySet()).add(key);
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                Bukkit.getScheduler().runTaskLater(plugin, this::flush, FLUSH_DELAY_TICKS);
+            } catch (IllegalStateException e) {
+                // Plugin is disabling; the shutdown flush picks the changes up
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write changed buffer entries with their current amounts. Entries are batched per
+     * persistence lane and each batch runs on its lane, so a player's writes never reorder
+     * and stay ordered with their data load and reset.
+     *
+     * @return future completed with the number of entries written
+     */
+    public CompletableFuture<Integer> flush() {
+        flushScheduled.set(false);
+        Map<UUID, Set<String>> changes = drainChanges();
+        if (changes.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        PersistenceExecutor executor = plugin.getPersistenceExecutor();
+        List<CompletableFuture<Integer>> writes = new ArrayList<>();
+        for (Map<UUID, Set<String>> batch : executor.partitionByLane(changes)) {
+            writes.add(executor.supply(batch.keySet().iterator().next(), conn -> writeChanges(conn, batch, 0)).exceptionally(e -> {
+                restoreChanges(batch);
+                plugin.getLogger().log(Level.SEVERE, "Could not flush overflow storage", e);
+                return 0;
+            }));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> writes.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    /**
+     * Take the set of changed buffer keys per player
+     */
+    public synchronized Map<UUID, Set<String>> drainChanges() {
+        Map<UUID, Set<String>> changes = new HashMap<>();
+        for (UUID uuid : new ArrayList<>(changedKeys.keySet())) {
+            Set<String> keys = changedKeys.remove(uuid);
+            if (keys != null && !keys.isEmpty()) {
+                changes.put(uuid, keys);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Mark drained keys changed again after a failed write so the next flush retries them
+     */
+    public void restoreChanges(Map<UUID, Set<String>> changes) {
+        changes.forEach((uuid, keys) ->
+                changedKeys.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet()).addAll(keys));
+    }
+
+    /**
+     * Write the current amounts of the changed keys; empty entries are deleted. Players whose
+     * buffer isn't loaded are skipped, since their empty map would erase the stored rows.
+     * Runs inside the caller's transaction if auto-commit is off.
+     *
+     * @param queryTimeoutSeconds statement timeout, or 0 for none
+     * @return number of entries written
+     */
+    public int writeChanges(Connection conn, Map<UUID, Set<String>> changes, int queryTimeoutSeconds) throws SQLException {
+        String upsertSql = "INSERT INTO farming_overflow_storage (uuid, item_key, amount) VALUES (?, ?, ?) " +
+                           "ON DUPLICATE KEY UPDATE amount = VALUES(amount)";
+        String deleteSql = "DELETE FROM farming_overflow_storage WHERE uuid = ? AND item_key = ?";
+
+        int written = 0;
+        try (PreparedStatement upsert = conn.prepareStatement(upsertSql);
+             PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+            upsert.setQueryTimeout(queryTimeoutSeconds);
+            delete.setQueryTimeout(queryTimeoutSeconds);
+            for (Map.Entry<UUID, Set<String>> entry : changes.entrySet()) {
+                if (!isLoaded(entry.getKey())) continue;
+                String uuid = entry.getKey().toString();
+                Map<String, Integer> buffer = buffers.getOrDefault(entry.getKey(), Collections.emptyMap());
+                for (String key : entry.getValue()) {
+                    int amount = buffer.getOrDefault(key, 0);
+                    if (amount > 0) {
+                        upsert.setString(1, uuid);
+                        upsert.setString(2, key);
+                        upsert.setInt(3, amount);
+                        upsert.addBatch();
+                    } else {
+                        delete.setString(1, uuid);
+                        delete.setString(2, key);
+                        delete.addBatch();
+                    }
+                    written++;
+                }
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+        }
+        return written;
+    }
+}
@@ -11,24 +11,28 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
 import org.maks.farmingPlugin.FarmingPlugin;
-import org.maks.farmingPlugin.database.DatabaseManager;
 import org.maks.farmingPlugin.farms.FarmType;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.bukkit.ChatColor;
 import org.bukkit.persistence.PersistentDataType;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 public class PlantationAreaManager {
 
     private final FarmingPlugin plugin;
     private final Map<UUID, PlantationArea> areas = new ConcurrentHashMap<>();
+    // Spatial index of every known plot (online or not), keyed by packed grid cell
+    private final Map<Long, PlantationArea> plotIndex = new ConcurrentHashMap<>();
     private final Map<UUID, Map<FarmType, Map<Integer, FarmAnchor>>> playerAnchors = new ConcurrentHashMap<>();
 
     private final World world;
@@ -38,6 +42,13 @@ public class PlantationAreaManager {
     private final int spacing;
     private final int gridRows, gridCols;
     private final Material fenceMaterial;
+    private final PlotVerifier verifier;
+    private final PlotAllocator allocator;
+    // Allocations in flight, so repeated requests share one claim
+    private final Map<UUID, CompletableFuture<PlantationArea>> pendingAreas = new ConcurrentHashMap<>();
+    private volatile PlotTemplate plotTemplate;
+    // Completes once every saved plot is indexed; until then plot ownership is incomplete
+    private final CompletableFuture<Void> areasLoaded;
 
     private NamespacedKey PDC_LOCKED;
     private NamespacedKey PDC_FARM_TYPE;
@@ -96,6 +107,7 @@ public class PlantationAreaManager {
         this.PDC_LOCKED = new NamespacedKey(plugin, "locked_farm");
         this.PDC_FARM_TYPE = new NamespacedKey(plugin, "farm_type");
         this.PDC_INSTANCE_ID = new NamespacedKey(plugin, "instance_id");
+        this.verifier = new PlotVerifier(plugin);
 
         ConfigurationSection base = plugin.getConfig().getConfigurationSection("plantations.base");
         if (base == null) {
@@ -128,135 +140,180 @@ public class PlantationAreaManager {
         }
         this.gridRows = gridSec.getInt("rows");
         this.gridCols = gridSec.getInt("cols");
+        int maxRows = Math.max(gridRows, gridSec.getInt("max_rows", gridRows));
+        this.allocator = new PlotAllocator(plugin, world, originX, originY, originZ,
+                plotWidth + spacing, plotDepth + spacing, gridCols, maxRows);
+        reloadTemplate();
 
-        loadAllPlayerAreas();
+        this.areasLoaded = loadAllPlayerAreas();
     }
 
-    private void loadAllPlayerAreas() {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                String sql = "SELECT DISTINCT uuid FROM farming_player_plots";
-                PreparedStatement stmt = plugin.getDatabaseManager().prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery();
+    /**
+     * Load every saved plot with one streaming query, filling the area map and spatial index
+     * as rows arrive. The future completes even if the load fails, so protection isn't held
+     * back forever.
+     */
+    private CompletableFuture<Void> loadAllPlayerAreas() {
+        return plugin.getPersistenceExecutor().<Void>supply(null, conn -> {
+            String sql = "SELECT uuid, world, origin_x, origin_y, origin_z FROM farming_player_plots";
+            Map<String, World> worlds = new HashMap<>();
+            int loaded = 0;
+            int skipped = 0;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Stream rows instead of buffering the whole table
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        World plotWorld = worlds.computeIfAbsent(rs.getString("world"), Bukkit::getWorld);
+                        if (plotWorld == null) {
+                            skipped++;
+                            continue;
+                        }
 
-                while (rs.next()) {
-                    UUID uuid = UUID.fromString(rs.getString("uuid"));
-                    loadPlayerArea(uuid);
+                        UUID uuid = UUID.fromString(rs.getString("uuid"));
+                        Location origin = new Location(plotWorld,
+                                rs.getInt("origin_x"), rs.getInt("origin_y"), rs.getInt("origin_z"));
+                        PlantationArea area = new PlantationArea(uuid, origin, plotWidth, plotDepth);
+                        // Plots registered meanwhile by a player load are kept
+                        if (areas.putIfAbsent(uuid, area) == null) {
+                            indexArea(area);
+                        }
+                        loaded++;
+                    }
                 }
-
-                rs.close();
-                stmt.close();
-
-                plugin.getLogger().info("Loaded " + areas.size() + " player plantation areas");
-            } catch (SQLException e) {
-                plugin.getLogger().warning("Failed to load player areas: " + e.getMessage());
             }
+
+            plugin.getLogger().info("Loaded " + loaded + " player plantation areas" +
+                    (skipped > 0 ? " (" + skipped + " in unloaded worlds skipped)" : ""));
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().log(Level.WARNING, "Failed to load player areas", e);
+            return null;
         });
     }
 
-    private void loadPlayerArea(UUID uuid) {
-        Optional<Location> savedLocation = plugin.getDatabaseManager().loadPlayerPlot(uuid);
-        if (savedLocation.isPresent()) {
-            Location origin = savedLocation.get();
-            areas.put(uuid, new PlantationArea(uuid, origin, plotWidth, plotDepth));
+    /**
+     * Get the player's plot, allocating one if needed. Allocation runs on the player's
+     * persistence lane; the future completes on the main thread. A newly created area is
+     * queued for building; use {@link PlantationArea#whenBuilt()} before sending the player there.
+     */
+    public CompletableFuture<PlantationArea> getOrCreateArea(Player player) {
+        return getOrCreateArea(player.getUniqueId(), true);
+    }
+
+    private CompletableFuture<PlantationArea> getOrCreateArea(UUID uuid, boolean build) {
+        PlantationArea existing = areas.get(uuid);
+        if (existing != null) {
+            return CompletableFuture.completedFuture(existing);
         }
+        CompletableFuture<PlantationArea> pending = pendingAreas.get(uuid);
+        if (pending != null) {
+            return pending;
+        }
+
+        CompletableFuture<PlantationArea> future = new CompletableFuture<>();
+        pendingAreas.put(uuid, future);
+        allocator.findOrClaim(uuid).whenComplete((origin, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            pendingAreas.remove(uuid);
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+
+            PlantationArea area = areas.get(uuid);
+            if (area == null) {
+                area = new PlantationArea(uuid, origin, plotWidth, plotDepth);
+                if (build) {
+                    area.built = submitBuild(origin);
+                }
+                areas.put(uuid, area);
+                indexArea(area);
+            }
+            future.complete(area);
+        }));
+        return future;
     }
 
-    public PlantationArea getOrCreateArea(Player player) {
-        PlantationArea area = areas.computeIfAbsent(player.getUniqueId(), uuid -> {
-            DatabaseManager db = plugin.getDatabaseManager();
-            Location origin = db.loadPlayerPlot(uuid).orElseGet(() -> allocateNewPlot(uuid));
-            buildPlotStructure(origin);
-            return new PlantationArea(uuid, origin, plotWidth, plotDepth);
-        });
-        return area;
+    /**
+     * Return the player's plot slot to the free list; runs inside the caller's database work
+     */
+    public void releasePlot(Connection conn, UUID owner) throws SQLException {
+        allocator.release(conn, owner);
     }
 
-    private Location allocateNewPlot(UUID uuid) {
-        int index = areas.size();
-        int row = index / gridCols;
-        int col = index % gridCols;
-        int x = originX + col * (plotWidth + spacing);
-        int z = originZ + row * (plotDepth + spacing);
-        Location loc = new Location(world, x, originY, z);
-        
-        plugin.getLogger().info("Allocating new plot for " + uuid + " at coordinates: " + x + ", " + originY + ", " + z);
-        plugin.getDatabaseManager().savePlayerPlot(uuid, world.getName(), x, originY, z);
-        
-        return loc;
-    }
-
-    private void buildPlotStructure(Location origin) {
-        if (world == null) return;
-
-        int x1 = origin.getBlockX();
-        int z1 = origin.getBlockZ();
-        int x2 = x1 + plotWidth - 1;
-        int z2 = z1 + plotDepth - 1;
-        int y = origin.getBlockY();
-        int gateX = x1 + plotWidth / 2;
-        int barrierY = y + 1;
-
-        // Create the floor
-        for (int x = x1; x <= x2; x++) {
-            for (int z = z1; z <= z2; z++) {
-                world.getBlockAt(x, y - 1, z).setType(Material.GRASS_BLOCK);
-
-                // Clear above ground
-                world.getBlockAt(x, y, z).setType(Material.AIR);
-                world.getBlockAt(x, y + 1, z).setType(Material.AIR);
-                world.getBlockAt(x, y + 2, z).setType(Material.AIR);
-                world.getBlockAt(x, y + 3, z).setType(Material.AIR);
-                world.getBlockAt(x, y + 4, z).setType(Material.AIR);
+    /**
+     * Forget a released plot so the player is allocated a new one on their next visit
+     */
+    public void removeArea(UUID owner) {
+        PlantationArea area = areas.remove(owner);
+        if (area != null) {
+            for (long cell : coveredCells(area)) {
+                plotIndex.remove(cell, area);
             }
         }
+    }
 
-        // Build fence perimeter with high barriers to contain players and drops
-        for (int x = x1; x <= x2; x++) {
-            world.getBlockAt(x, y, z1).setType(fenceMaterial);
-            world.getBlockAt(x, y, z2).setType(fenceMaterial);
+    public int getPlotCapacity() {
+        return allocator.getCapacity();
+    }
 
-            for (int by = barrierY; by < barrierY + 4; by++) {
-                world.getBlockAt(x, by, z1).setType(Material.BARRIER);
-                world.getBlockAt(x, by, z2).setType(Material.BARRIER);
-            }
+    /**
+     * Queue the plot structure on the block edit queue
+     */
+    private CompletableFuture<Void> submitBuild(Location origin) {
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
         }
-        for (int z = z1 + 1; z < z2; z++) {
-            world.getBlockAt(x1, y, z).setType(fenceMaterial);
-            world.getBlockAt(x2, y, z).setType(fenceMaterial);
 
-            for (int by = barrierY; by < barrierY + 4; by++) {
-                world.getBlockAt(x1, by, z).setType(Material.BARRIER);
-                world.getBlockAt(x2, by, z).setType(Material.BARRIER);
-            }
-        }
+        BlockEditQueue.Batch batch = new BlockEditQueue.Batch(world);
+        buildPlotStructure(batch, origin);
+        return plugin.getBlockEditQueue().submit(batch);
+    }
 
-        // Build central path from spawn to back
-        Material pathMat = Material.matchMaterial(
-            plugin.getConfig().getString("blocks.path", "DIRT_PATH")
-        );
-        if (pathMat == null) pathMat = Material.DIRT_PATH;
+    private void buildPlotStructure(BlockEditQueue.Batch batch, Location origin) {
+        plotTemplate.stamp(batch, origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+    }
 
-        for (int z = z1 + 5; z < z2; z++) {
-            world.getBlockAt(x1 + 8, y - 1, z).setType(pathMat);
-        }
+    /**
+     * Recompile the plot template after a config reload (path material)
+     */
+    public void reloadTemplate() {
+        plotTemplate = PlotTemplate.compile(plotWidth, plotDepth, fenceMaterial, plugin.getSettings().getPathMaterial());
+    }
 
-        // Add some decorative elements
-        world.getBlockAt(gateX - 1, y + 1, z2).setType(Material.LANTERN);
-        world.getBlockAt(gateX + 1, y + 1, z2).setType(Material.LANTERN);
+    /**
+     * Register a plot that was loaded elsewhere (e.g. with the player's data) without database access
+     */
+    public void registerPlot(UUID owner, Location origin) {
+        PlantationArea area = new PlantationArea(owner, origin, plotWidth, plotDepth);
+        if (areas.putIfAbsent(owner, area) == null) {
+            indexArea(area);
+        }
     }
 
     public Location getOrCreateFarmAnchor(UUID owner, FarmType type, int instanceId) {
         PlantationArea area = areas.get(owner);
         if (area == null) {
-            Player player = Bukkit.getPlayer(owner);
-            if (player != null) {
-                area = getOrCreateArea(player);
-            } else {
-                return null;
+            // Allocation is asynchronous; the anchor is available once the plot exists
+            if (Bukkit.getPlayer(owner) != null) {
+                getOrCreateArea(owner, true);
             }
+            return null;
         }
+        return getFarmAnchor(area, type, instanceId);
+    }
 
+    /**
+     * Get a farm anchor for an already known plot; never allocates or builds a plot
+     */
+    public Location getFarmAnchor(UUID owner, FarmType type, int instanceId) {
+        PlantationArea area = areas.get(owner);
+        return area != null ? getFarmAnchor(area, type, instanceId) : null;
+    }
+
+    private Location getFarmAnchor(PlantationArea area, FarmType type, int instanceId) {
         // Get the relative position for this farm type and instance
         List<int[]> positions = FARM_LAYOUT.get(type);
         if (positions == null || instanceId < 1 || instanceId > positions.size()) {
@@ -269,6 +326,83 @@ public class PlantationAreaManager {
         return anchorLoc;
     }
 
+    /**
+     * Whether every saved plot has been indexed, so {@link #getPlotOwnerAt(Location)} also
+     * knows the plots of offline players
+     */
+    public boolean isAreasLoaded() {
+        return areasLoaded.isDone();
+    }
+
+    public boolean isPlantationWorld(World other) {
+        return world != null && world.equals(other);
+    }
+
+    /**
+     * Find the owner of the plot containing a location using grid arithmetic,
+     * covering all loaded plots including those of offline players
+     *
+     * @return owner UUID, or null if the location isn't inside any plot
+     */
+    public UUID getPlotOwnerAt(Location loc) {
+        PlantationArea area = getAreaAt(loc);
+        return area != null ? area.getOwner() : null;
+    }
+
+    public PlantationArea getAreaAt(Location loc) {
+        if (loc == null || loc.getWorld() == null) return null;
+
+        int col = Math.floorDiv(loc.getBlockX() - originX, plotWidth + spacing);
+        int row = Math.floorDiv(loc.getBlockZ() - originZ, plotDepth + spacing);
+        PlantationArea area = plotIndex.get(cellKey(col, row));
+        return area != null && area.contains(loc) ? area : null;
+    }
+
+    private void indexArea(PlantationArea area) {
+        for (long cell : coveredCells(area)) {
+            PlantationArea existing = plotIndex.putIfAbsent(cell, area);
+            if (existing != null && existing != area) {
+                // The first plot keeps the cell; the other one is unprotected there
+                plugin.getLogger().warning("Plot of " + area.getOwner() + " at " + describe(area.origin) +
+                        " overlaps the plot of " + existing.getOwner() + " at " + describe(existing.origin) +
+                        " in grid cell " + (int) (cell >> 32) + ", " + (int) cell);
+            }
+        }
+    }
+
+    /**
+     * Grid cells a plot overlaps. Plots are allocated on the grid, so this is normally a
+     * single cell; plots saved off-grid cover every cell they overlap.
+     */
+    private List<Long> coveredCells(PlantationArea area) {
+        int x1 = area.origin.getBlockX();
+        int z1 = area.origin.getBlockZ();
+        int minCol = Math.floorDiv(x1 - originX, plotWidth + spacing);
+        int maxCol = Math.floorDiv(x1 + area.width - 1 - originX, plotWidth + spacing);
+        int minRow = Math.floorDiv(z1 - originZ, plotDepth + spacing);
+        int maxRow = Math.floorDiv(z1 + area.depth - 1 - originZ, plotDepth + spacing);
+
+        List<Long> cells = new ArrayList<>((maxCol - minCol + 1) * (maxRow - minRow + 1));
+        for (int col = minCol; col <= maxCol; col++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                cells.add(cellKey(col, row));
+            }
+        }
+        return cells;
+    }
+
+    private static String describe(Location location) {
+        return location.getBlockX() + ", " + location.getBlockY() + ", " + location.getBlockZ();
+    }
+
+    private static long cellKey(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    public boolean hasArea(UUID owner) {
+        return areas.containsKey(owner);
+    }
+
     public boolean isLocationInPlantation(UUID owner, Location loc) {
         PlantationArea area = areas.get(owner);
         return area != null && area.contains(loc);
@@ -302,24 +436,39 @@ public class PlantationAreaManager {
 
     public void clearAllAreas() {
         areas.clear();
+        plotIndex.clear();
         playerAnchors.clear();
     }
 
-    /** Regenerate player's plantation area with proper layout */
-    public void regeneratePlayerArea(Player player) {
+    /**
+     * Verify the player's plantation area against its proper layout and repair what differs.
+     * Repairs are applied over the next ticks; signs and holograms follow once they are in place.
+     */
+    public CompletableFuture<Void> regeneratePlayerArea(Player player) {
         if (world == null) {
             plugin.getLogger().warning("World not found for regeneration!");
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
-        PlantationArea area = getOrCreateArea(player);
-        if (area == null) return;
+        return getOrCreateArea(player.getUniqueId(), false)
+            .thenCompose(area -> player.isOnline() ? regenerate(player, area) : CompletableFuture.<Void>completedFuture(null))
+            .whenComplete((ignored, error) -> {
+                if (error != null) {
+                    plugin.getLogger().warning("Could not regenerate plantation of " + player.getName() + ": " + error.getMessage());
+                }
+            });
+    }
 
+    private CompletableFuture<Void> regenerate(Player player, PlantationArea area) {
         Location origin = area.origin;
         UUID uid = player.getUniqueId();
         
-        // Clear and rebuild the basic structure
-        buildPlotStructure(origin);
+        // Expected blocks: the basic structure plus every farm slot
+        BlockEditQueue.Batch batch = new BlockEditQueue.Batch(world);
+        buildPlotStructure(batch, origin);
+        // Work that needs the finished blocks (sign states, holograms)
+        List<Runnable> afterBuild = new ArrayList<>();
+        Map<Location, Runnable> lockedSigns = new LinkedHashMap<>();
 
         // Get player's owned farms
         List<FarmInstance> owned = plugin.getPlantationManager().getPlayerFarms(uid);
@@ -335,42 +484,64 @@ public class PlantationAreaManager {
             for (int i = 0; i < positions.size(); i++) {
                 int[] relativePos = positions.get(i);
                 Location farmLoc = origin.clone().add(relativePos[0], 0, relativePos[1]);
-                String k = key(type, i + 1);
+                int instanceId = i + 1;
+                String k = key(type, instanceId);
+                int fx = farmLoc.getBlockX();
+                int fy = farmLoc.getBlockY();
+                int fz = farmLoc.getBlockZ();
                 
                 // Place grass underneath
-                world.getBlockAt(farmLoc.getBlockX(), farmLoc.getBlockY() - 1, farmLoc.getBlockZ())
-                    .setType(Material.GRASS_BLOCK);
+                batch.set(fx, fy - 1, fz, Material.GRASS_BLOCK);
                 
                 if (ownedKeys.contains(k)) {
                     // Player owns this farm - place the farm block
-                    placeFarmBlock(farmLoc, type);
+                    batch.setType(fx, fy, fz, type.getBlockType());
 
                     // Update hologram
                     FarmInstance farm = plugin.getPlantationManager()
-                        .getFarmInstance(uid, type, i + 1);
+                        .getFarmInstance(uid, type, instanceId);
                     if (farm != null) {
                         farm.setLocation(farmLoc);
                         if (plugin.getHologramManager() != null) {
-                            plugin.getHologramManager().updateHologram(farm);
+                            afterBuild.add(() -> plugin.getHologramManager().updateHologram(farm));
                         }
                     }
                 } else if (type == FarmType.BERRY_ORCHARDS) {
                     if (i == 0) {
                         // First berry farm is free
-                        placeFarmBlock(farmLoc, type);
+                        batch.setType(fx, fy, fz, type.getBlockType());
                     } else {
                         // Additional berry farms start locked
-                        placeLockedSign(farmLoc, type, i + 1);
+                        batch.setType(fx, fy, fz, Material.OAK_SIGN);
+                        lockedSigns.put(farmLoc, () -> placeLockedSign(farmLoc, type, instanceId));
                     }
-                } else if (plugin.getDatabaseManager().isFarmUnlocked(uid, type.getId())) {
+                } else if (plugin.getPlantationManager().isFarmUnlocked(uid, type)) {
                     // Farm type unlocked but instance not created - show farm block dim
-                    placeFarmBlock(farmLoc, type);
+                    batch.setType(fx, fy, fz, type.getBlockType());
                 } else {
                     // Farm type is locked - place locked sign
-                    placeLockedSign(farmLoc, type, i + 1);
+                    batch.setType(fx, fy, fz, Material.OAK_SIGN);
+                    lockedSigns.put(farmLoc, () -> placeLockedSign(farmLoc, type, instanceId));
                 }
             }
         }
+
+        // Only the blocks that differ from the world are written; an intact plot writes none
+        CompletableFuture<Void> built = area.whenBuilt()
+            .handle((ignored, error) -> null)
+            .thenCompose(ignored -> verifier.findDifferences(batch))
+            .thenCompose(repair -> {
+                plugin.debug("Plot of " + player.getName() + ": " + repair.size() + " block(s) to repair");
+                lockedSigns.forEach((loc, placeSign) -> {
+                    if (repair.contains(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ())) {
+                        afterBuild.add(placeSign);
+                    }
+                });
+                return plugin.getBlockEditQueue().submit(repair);
+            })
+            .thenRun(() -> afterBuild.forEach(Runnable::run));
+        area.built = built;
+        return built;
     }
 
     private String key(FarmType t, int id) {
@@ -406,6 +577,7 @@ public class PlantationAreaManager {
         private final Location origin;
         private final int width;
         private final int depth;
+        private volatile CompletableFuture<Void> built = CompletableFuture.completedFuture(null);
 
         PlantationArea(UUID owner, Location origin, int width, int depth) {
             this.owner = owner;
@@ -439,6 +611,13 @@ public class PlantationAreaManager {
             return owner;
         }
 
+        /**
+         * Completes once the latest queued build of this plot has been applied
+         */
+        public CompletableFuture<Void> whenBuilt() {
+            return built;
+        }
+
         public Location getOrigin() {
             return origin;
         }
@@ -1,28 +1,40 @@
 package org.maks.farmingPlugin.managers;
 
 import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.config.PluginSettings;
 import org.maks.farmingPlugin.database.DatabaseManager;
+import org.maks.farmingPlugin.database.PersistenceExecutor;
+import org.maks.farmingPlugin.farms.DropTable;
 import org.maks.farmingPlugin.farms.FarmInstance;
 import org.maks.farmingPlugin.farms.FarmType;
+import org.maks.farmingPlugin.farms.HarvestEngine;
 import org.maks.farmingPlugin.farms.MaterialDrop;
+import org.maks.farmingPlugin.farms.PlayerFarms;
+import org.maks.farmingPlugin.farms.PlayerProfile;
+import org.maks.farmingPlugin.farms.StorageCodec;
 import org.maks.farmingPlugin.fruits.FruitType;
 import org.maks.farmingPlugin.materials.MaterialManager;
 import org.maks.farmingPlugin.materials.MaterialType;
 
-import java.lang.reflect.Type;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.concurrent.TimeUnit;
 
@@ -31,275 +43,516 @@ public class PlantationManager {
     private final DatabaseManager database;
     private final Gson gson;
     
-    private final Map<UUID, List<FarmInstance>> playerFarms;
-    private final Map<FarmType, List<MaterialDrop>> farmDrops;
-    private final Map<FarmType, Map<MaterialType, Integer>> unlockRequirements;
+    private final Map<UUID, PlayerFarms> playerFarms;
+    private final Map<UUID, PlayerProfile> profiles;
+    // Loaded from config; replaced as a whole on reload
+    private volatile Map<FarmType, DropTable> farmDrops;
+    private volatile Map<FarmType, Map<MaterialType, Integer>> unlockRequirements;
+    private volatile Map<FarmType, Long> unlockCosts;
     
     // Track special material drops separately
     private final Map<UUID, Map<String, Long>> lastSpecialDropTimes;
+    // Locked spots whose unlock is being checked, so repeated clicks don't charge twice
+    private final Set<String> pendingUnlocks = ConcurrentHashMap.newKeySet();
+
+    // Minimum time between rare drops of one farm
+    private static final long SPECIAL_DROP_COOLDOWN = TimeUnit.MINUTES.toMillis(30);
+
+    // Write-behind flushing
+    private static final long FLUSH_DELAY_TICKS = 20L;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private volatile boolean intakeStopped;
+    private BukkitTask flushTask;
 
     public PlantationManager(FarmingPlugin plugin, DatabaseManager database) {
         this.plugin = plugin;
         this.database = database;
         this.gson = new Gson();
         this.playerFarms = new ConcurrentHashMap<>();
-        this.farmDrops = new HashMap<>();
-        this.unlockRequirements = new HashMap<>();
+        this.profiles = new ConcurrentHashMap<>();
         this.lastSpecialDropTimes = new ConcurrentHashMap<>();
         
         loadFarmConfigurations();
-        startAutoSaveTask();
+        startFlushTask();
+    }
+
+    /**
+     * Rebuild drop tables and unlock requirements, and recompute growth times, after a config reload
+     */
+    public void reloadFarmConfigurations() {
+        loadFarmConfigurations();
+        invalidateGrowthTimes();
     }
 
+    /**
+     * Load drop tables, unlock requirements and unlock costs from the "farms" config section.
+     * Farm types, drop lists, costs and unlock materials missing from the server's config are
+     * read from the defaults shipped in the jar, not from empty sections Bukkit creates for them.
+     */
     private void loadFarmConfigurations() {
-        // Configure RARE material drops (special drops)
-        // These are now rare drops that happen occasionally
-        farmDrops.put(FarmType.BERRY_ORCHARDS, Arrays.asList(
-            new MaterialDrop(MaterialType.PLANT_FIBER, 1, 15.0),
-            new MaterialDrop(MaterialType.PLANT_FIBER, 2, 5.0),
-            new MaterialDrop(MaterialType.HERB_EXTRACT, 1, 3.0)
-        ));
-
-        farmDrops.put(FarmType.MELON_GROVES, Arrays.asList(
-            new MaterialDrop(MaterialType.SEED_POUCH, 1, 12.0),
-            new MaterialDrop(MaterialType.SEED_POUCH, 2, 6.0),
-            new MaterialDrop(MaterialType.PLANT_FIBER, 1, 5.0)
-        ));
-
-        farmDrops.put(FarmType.FUNGAL_CAVERNS, Arrays.asList(
-            new MaterialDrop(MaterialType.MUSHROOM_SPORES, 1, 10.0),
-            new MaterialDrop(MaterialType.MUSHROOM_SPORES, 2, 5.0),
-            new MaterialDrop(MaterialType.MUSHROOM_SPORES, 3, 2.0),
-            new MaterialDrop(MaterialType.COMPOST_DUST, 1, 8.0),
-            new MaterialDrop(MaterialType.COMPOST_DUST, 2, 3.0)
-        ));
-
-        farmDrops.put(FarmType.PUMPKIN_PATCHES, Arrays.asList(
-            new MaterialDrop(MaterialType.SEED_POUCH, 2, 8.0),
-            new MaterialDrop(MaterialType.SEED_POUCH, 3, 3.0),
-            new MaterialDrop(MaterialType.COMPOST_DUST, 1, 10.0),
-            new MaterialDrop(MaterialType.COMPOST_DUST, 2, 5.0),
-            new MaterialDrop(MaterialType.COMPOST_DUST, 3, 2.0)
-        ));
-
-        farmDrops.put(FarmType.MYSTIC_GARDENS, Arrays.asList(
-            new MaterialDrop(MaterialType.HERB_EXTRACT, 1, 8.0),
-            new MaterialDrop(MaterialType.HERB_EXTRACT, 2, 5.0),
-            new MaterialDrop(MaterialType.HERB_EXTRACT, 3, 2.0),
-            new MaterialDrop(MaterialType.BEESWAX_CHUNK, 1, 6.0),
-            new MaterialDrop(MaterialType.BEESWAX_CHUNK, 2, 3.0)
-        ));
-
-        farmDrops.put(FarmType.ANCIENT_MANGROVES, Arrays.asList(
-            new MaterialDrop(MaterialType.DRUIDIC_ESSENCE, 1, 5.0),
-            new MaterialDrop(MaterialType.DRUIDIC_ESSENCE, 2, 2.0),
-            new MaterialDrop(MaterialType.MUSHROOM_SPORES, 3, 4.0),
-            new MaterialDrop(MaterialType.BEESWAX_CHUNK, 3, 3.0)
-        ));
-
-        farmDrops.put(FarmType.DESERT_SANCTUARIES, Arrays.asList(
-            new MaterialDrop(MaterialType.GOLDEN_TRUFFLE, 1, 3.0),
-            new MaterialDrop(MaterialType.GOLDEN_TRUFFLE, 2, 1.5),
-            new MaterialDrop(MaterialType.GOLDEN_TRUFFLE, 3, 0.5),
-            new MaterialDrop(MaterialType.ANCIENT_GRAIN, 1, 2.0),
-            new MaterialDrop(MaterialType.ANCIENT_GRAIN, 2, 1.0),
-            new MaterialDrop(MaterialType.DRUIDIC_ESSENCE, 2, 2.0),
-            new MaterialDrop(MaterialType.DRUIDIC_ESSENCE, 3, 1.0)
-        ));
-
-        // Load unlock requirements (unchanged)
-        Map<MaterialType, Integer> melonReq = new HashMap<>();
-        melonReq.put(MaterialType.PLANT_FIBER, 50);
-        melonReq.put(MaterialType.HERB_EXTRACT, 10);
-        unlockRequirements.put(FarmType.MELON_GROVES, melonReq);
-
-        Map<MaterialType, Integer> fungalReq = new HashMap<>();
-        fungalReq.put(MaterialType.SEED_POUCH, 30);
-        fungalReq.put(MaterialType.PLANT_FIBER, 15);
-        unlockRequirements.put(FarmType.FUNGAL_CAVERNS, fungalReq);
-
-        Map<MaterialType, Integer> pumpkinReq = new HashMap<>();
-        pumpkinReq.put(MaterialType.MUSHROOM_SPORES, 25);
-        pumpkinReq.put(MaterialType.COMPOST_DUST, 20);
-        unlockRequirements.put(FarmType.PUMPKIN_PATCHES, pumpkinReq);
-
-        Map<MaterialType, Integer> mysticReq = new HashMap<>();
-        mysticReq.put(MaterialType.SEED_POUCH, 20);
-        mysticReq.put(MaterialType.COMPOST_DUST, 15);
-        mysticReq.put(MaterialType.MUSHROOM_SPORES, 10);
-        unlockRequirements.put(FarmType.MYSTIC_GARDENS, mysticReq);
-
-        Map<MaterialType, Integer> mangroveReq = new HashMap<>();
-        mangroveReq.put(MaterialType.HERB_EXTRACT, 25);
-        mangroveReq.put(MaterialType.BEESWAX_CHUNK, 15);
-        mangroveReq.put(MaterialType.COMPOST_DUST, 10);
-        unlockRequirements.put(FarmType.ANCIENT_MANGROVES, mangroveReq);
-
-        Map<MaterialType, Integer> desertReq = new HashMap<>();
-        desertReq.put(MaterialType.DRUIDIC_ESSENCE, 10);
-        desertReq.put(MaterialType.BEESWAX_CHUNK, 15);
-        desertReq.put(MaterialType.HERB_EXTRACT, 8);
-        unlockRequirements.put(FarmType.DESERT_SANCTUARIES, desertReq);
-    }
-
-    public void loadPlayerData(UUID playerUuid) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                // Load farms
-                String sql = "SELECT * FROM farming_player_plantations WHERE uuid = ?";
-                PreparedStatement stmt = database.prepareStatement(sql);
-                stmt.setString(1, playerUuid.toString());
-                
-                ResultSet rs = stmt.executeQuery();
-                List<FarmInstance> farms = new ArrayList<>();
-                
-                while (rs.next()) {
-                    FarmType farmType = FarmType.fromId(rs.getString("farm_type"));
-                    if (farmType != null) {
-                        int instanceId = rs.getInt("instance_id");
-                        int level = rs.getInt("level");
-                        int efficiency = rs.getInt("efficiency");
-                        long lastHarvest = rs.getLong("last_harvest");
-                        
-                        int totalHarvests = 0;
-                        try {
-                            totalHarvests = rs.getInt("total_harvests");
-                        } catch (SQLException e) {
-                            plugin.getLogger().warning("Column 'total_harvests' not found, using default value 0");
-                        }
-                        
-                        int exp = 0;
-                        try {
-                            exp = rs.getInt("exp");
-                        } catch (SQLException e) {
-                            plugin.getLogger().warning("Column 'exp' not found, using default value 0");
-                        }
-                        
-                        // Load stored materials
-                        Map<String, Integer> storedMaterials = loadStoredMaterials(playerUuid, farmType, instanceId);
-                        
-                        // Get anchor location
-                        Location location = plugin.getPlantationAreaManager()
-                            .getOrCreateFarmAnchor(playerUuid, farmType, instanceId);
-                        
-                        FarmInstance instance = new FarmInstance(playerUuid, farmType, instanceId, 
-                                                               level, efficiency, lastHarvest, storedMaterials);
-                        instance.setLocation(location);
-                        instance.setTotalHarvests(totalHarvests);
-                        instance.setExp(exp);
-                        
-                        farms.add(instance);
-                        
-                        // Create hologram if enabled - run on main thread
-                        if (plugin.getHologramManager() != null) {
-                            Bukkit.getScheduler().runTask(plugin, () -> {
-                                plugin.getHologramManager().updateHologram(instance);
-                            });
-                        }
+        Map<FarmType, DropTable> drops = new EnumMap<>(FarmType.class);
+        Map<FarmType, Map<MaterialType, Integer>> requirements = new EnumMap<>(FarmType.class);
+        Map<FarmType, Long> costs = new EnumMap<>(FarmType.class);
+
+        Configuration defaults = plugin.getConfig().getDefaults();
+        ConfigurationSection farmsSection = ownSection(plugin.getConfig(), "farms");
+        ConfigurationSection defaultFarms = defaults != null ? defaults.getConfigurationSection("farms") : null;
+        for (FarmType farmType : FarmType.values()) {
+            ConfigurationSection section = ownSection(farmsSection, farmType.getId());
+            ConfigurationSection fallback = defaultFarms != null ? defaultFarms.getConfigurationSection(farmType.getId()) : null;
+            if (section == null && fallback == null) {
+                plugin.getLogger().warning("No farm config for " + farmType.getId() + "; it will have no rare drops");
+                drops.put(farmType, DropTable.empty());
+                continue;
+            }
+            if (section == null) {
+                plugin.getLogger().info("No farm config for " + farmType.getId() + "; using the defaults");
+            }
+
+            ConfigurationSection dropsSource = withKey(section, fallback, "drops");
+            drops.put(farmType, dropsSource != null
+                    ? new DropTable(parseDrops(farmType, dropsSource.getMapList("drops")))
+                    : DropTable.empty());
+
+            ConfigurationSection costSource = withKey(section, fallback, "unlock_cost");
+            costs.put(farmType, costSource != null
+                    ? costSource.getLong("unlock_cost", farmType.getUnlockCost())
+                    : farmType.getUnlockCost());
+
+            ConfigurationSection materialsSource = withKey(section, fallback, "unlock_materials");
+            ConfigurationSection materialsSection = materialsSource != null
+                    ? materialsSource.getConfigurationSection("unlock_materials") : null;
+            if (materialsSection != null) {
+                Map<MaterialType, Integer> required = new EnumMap<>(MaterialType.class);
+                for (String materialId : materialsSection.getKeys(false)) {
+                    MaterialType materialType = MaterialType.fromId(materialId);
+                    if (materialType == null) {
+                        plugin.getLogger().warning("Unknown unlock material '" + materialId + "' for " + farmType.getId());
+                        continue;
                     }
+                    required.put(materialType, Math.max(0, materialsSection.getInt(materialId)));
                 }
-                
-                playerFarms.put(playerUuid, farms);
-                rs.close();
-                stmt.close();
-                
-                // Initialize special drop timers
-                if (!lastSpecialDropTimes.containsKey(playerUuid)) {
-                    lastSpecialDropTimes.put(playerUuid, new HashMap<>());
+                if (!required.isEmpty()) {
+                    requirements.put(farmType, required);
                 }
-                
+            }
+        }
+
+        // Swap the tables in whole so a harvest never sees a half-loaded config
+        this.farmDrops = drops;
+        this.unlockRequirements = requirements;
+        this.unlockCosts = costs;
+    }
+
+    /**
+     * A child section only if the server's config sets it; Bukkit would otherwise hand out
+     * an empty section created from the defaults
+     */
+    private static ConfigurationSection ownSection(ConfigurationSection parent, String path) {
+        return parent != null && parent.contains(path, true) ? parent.getConfigurationSection(path) : null;
+    }
+
+    /**
+     * The configured section if it sets the key itself, else the default section if that has it
+     */
+    private static ConfigurationSection withKey(ConfigurationSection configured, ConfigurationSection fallback, String key) {
+        if (configured != null && configured.contains(key, true)) {
+            return configured;
+        }
+        return fallback != null && fallback.contains(key) ? fallback : null;
+    }
+
+    private List<MaterialDrop> parseDrops(FarmType farmType, List<Map<?, ?>> entries) {
+        List<MaterialDrop> drops = new ArrayList<>();
+        for (Map<?, ?> entry : entries) {
+            MaterialType materialType = MaterialType.fromId(String.valueOf(entry.get("material")));
+            if (materialType == null) {
+                plugin.getLogger().warning("Unknown drop material '" + entry.get("material") + "' for " + farmType.getId());
+                continue;
+            }
+            int tier = entry.get("tier") instanceof Number number ? number.intValue() : 1;
+            double chance = entry.get("chance") instanceof Number number ? number.doubleValue() : 0.0;
+            if (tier < 1 || tier > StorageCodec.TIERS || chance <= 0) {
+                plugin.getLogger().warning("Invalid drop " + materialType.getId() + " (tier " + tier +
+                                           ", chance " + chance + ") for " + farmType.getId());
+                continue;
+            }
+            drops.add(new MaterialDrop(materialType, tier, chance));
+        }
+        return drops;
+    }
+
+    /**
+     * Load a player's plantation data in one pass over a single connection: farms joined with
+     * their storage, plot location, unlocked farm types and settings. Players that are already
+     * loaded are left untouched, since pending in-memory changes are authoritative until flushed.
+     * The returned future completes on the main thread.
+     */
+    public CompletableFuture<PlayerProfile> loadPlayerData(UUID playerUuid) {
+        CompletableFuture<PlayerProfile> future = new CompletableFuture<>();
+        PlayerProfile loaded = profiles.get(playerUuid);
+        if (loaded != null && playerFarms.containsKey(playerUuid)) {
+            // Stats are evicted when a player leaves, so a returning player may need them again
+            plugin.getStatsManager().ensureLoaded(playerUuid);
+            future.complete(loaded);
+            return future;
+        }
+
+        // Keyed by player so the load runs after any of their writes that are still queued
+        plugin.getPersistenceExecutor().execute(playerUuid, () -> {
+            PlayerProfile profile = new PlayerProfile(playerUuid);
+            PlayerFarms farms = new PlayerFarms();
+            Map<String, Integer> overflow;
+            long[] stats;
+
+            try (Connection conn = database.getConnection()) {
+                // Plot first, so farm anchors resolve without touching the world or database again
+                Location plotOrigin = loadPlot(conn, playerUuid);
+                if (plotOrigin != null) {
+                    profile.setHasPlot(true);
+                    plugin.getPlantationAreaManager().registerPlot(playerUuid, plotOrigin);
+                }
+
+                loadFarms(conn, playerUuid, farms);
+                loadUnlocks(conn, playerUuid, profile);
+                loadSettings(conn, playerUuid, profile);
+                overflow = plugin.getOverflowStorageManager().loadBuffer(conn, playerUuid);
+                stats = plugin.getStatsManager().loadStats(conn, playerUuid);
             } catch (SQLException e) {
                 plugin.getLogger().log(Level.SEVERE, "Could not load player plantation data for " + playerUuid, e);
+                Bukkit.getScheduler().runTask(plugin, () -> future.completeExceptionally(e));
+                return;
             }
+
+            // Install the model on the main thread
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                PlayerProfile current = profiles.get(playerUuid);
+                if (current != null && playerFarms.containsKey(playerUuid)) {
+                    // A concurrent load installed first and its model may already have changes
+                    future.complete(current);
+                    return;
+                }
+
+                // Stored farms replace any placeholder created before the profile was loaded;
+                // placeholders only survive in slots that have no stored farm
+                PlayerFarms existing = playerFarms.put(playerUuid, farms);
+                if (existing != null) {
+                    for (FarmInstance farm : existing.asList()) {
+                        farms.add(farm);
+                    }
+                    plugin.getOfflineGrowthManager().unschedulePlayer(playerUuid);
+                    plugin.getOfflineGrowthManager().schedulePlayer(playerUuid);
+                }
+                profiles.put(playerUuid, profile);
+                plugin.getOverflowStorageManager().installBuffer(playerUuid, overflow);
+                plugin.getStatsManager().installStats(playerUuid, stats);
+
+                // Initialize special drop timers
+                lastSpecialDropTimes.putIfAbsent(playerUuid, new HashMap<>());
+
+                if (plugin.getHologramManager() != null) {
+                    for (FarmInstance farm : getPlayerFarms(playerUuid)) {
+                        plugin.getHologramManager().updateHologram(farm);
+                    }
+                }
+
+                future.complete(profile);
+            });
+        }).exceptionally(e -> {
+            plugin.getLogger().warning("Could not queue plantation data load for " + playerUuid + ": " + e.getMessage());
+            Bukkit.getScheduler().runTask(plugin, () -> future.completeExceptionally(e));
+            return null;
         });
+        return future;
     }
 
-    private Map<String, Integer> loadStoredMaterials(UUID playerUuid, FarmType farmType, int instanceId) {
+    private Location loadPlot(Connection conn, UUID playerUuid) throws SQLException {
+        String sql = "SELECT world, origin_x, origin_y, origin_z FROM farming_player_plots WHERE uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    World world = Bukkit.getWorld(rs.getString("world"));
+                    if (world != null) {
+                        return new Location(world, rs.getInt("origin_x"), rs.getInt("origin_y"), rs.getInt("origin_z"));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void loadFarms(Connection conn, UUID playerUuid, PlayerFarms farms) throws SQLException {
+        String sql = "SELECT p.*, s.stored_materials FROM farming_player_plantations p " +
+                   "LEFT JOIN farming_plantation_storage s ON s.uuid = p.uuid " +
+                   "AND s.farm_type = p.farm_type AND s.instance_id = p.instance_id " +
+                   "WHERE p.uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    FarmType farmType = FarmType.fromId(rs.getString("farm_type"));
+                    if (farmType == null) continue;
+
+                    int instanceId = rs.getInt("instance_id");
+                    int level = rs.getInt("level");
+                    int efficiency = rs.getInt("efficiency");
+                    long lastHarvest = rs.getLong("last_harvest");
+
+                    int totalHarvests = 0;
+                    try {
+                        totalHarvests = rs.getInt("total_harvests");
+                    } catch (SQLException e) {
+                        plugin.getLogger().warning("Column 'total_harvests' not found, using default value 0");
+                    }
+
+                    int exp = 0;
+                    try {
+                        exp = rs.getInt("exp");
+                    } catch (SQLException e) {
+                        plugin.getLogger().warning("Column 'exp' not found, using default value 0");
+                    }
+
+                    int[] storedMaterials = decodeStoredMaterials(rs.getBytes("stored_materials"));
+
+                    // Get anchor location
+                    Location location = plugin.getPlantationAreaManager()
+                        .getFarmAnchor(playerUuid, farmType, instanceId);
+
+                    FarmInstance instance = new FarmInstance(playerUuid, farmType, instanceId,
+                                                           level, efficiency, lastHarvest, storedMaterials);
+                    instance.setLocation(location);
+                    instance.setTotalHarvests(totalHarvests);
+                    instance.setExp(exp);
+                    instance.markClean();
+
+                    farms.add(instance);
+                }
+            }
+        }
+    }
+
+    private int[] decodeStoredMaterials(byte[] data) {
         try {
-            String sql = "SELECT stored_materials_json FROM farming_plantation_storage WHERE uuid = ? AND farm_type = ? AND instance_id = ?";
-            PreparedStatement stmt = database.prepareStatement(sql);
+            return StorageCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Could not decode stored materials: " + e.getMessage());
+            return new int[StorageCodec.SLOTS];
+        }
+    }
+
+    private void loadUnlocks(Connection conn, UUID playerUuid, PlayerProfile profile) throws SQLException {
+        String sql = "SELECT farm_type FROM farming_farm_unlocks WHERE uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, playerUuid.toString());
-            stmt.setString(2, farmType.getId());
-            stmt.setInt(3, instanceId);
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                String json = rs.getString("stored_materials_json");
-                if (json != null && !json.isEmpty()) {
-                    Type type = new TypeToken<Map<String, Integer>>(){}.getType();
-                    return gson.fromJson(json, type);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    FarmType farmType = FarmType.fromId(rs.getString("farm_type"));
+                    if (farmType != null) {
+                        profile.addUnlockedFarm(farmType);
+                    }
                 }
             }
-            
-            rs.close();
-            stmt.close();
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Could not load stored materials", e);
         }
-        
-        return new HashMap<>();
     }
 
+    private void loadSettings(Connection conn, UUID playerUuid, PlayerProfile profile) throws SQLException {
+        String sql = "SELECT auto_collect_enabled, hologram_enabled, notifications_enabled, " +
+                   "particle_effects_enabled, drop_to_inventory FROM farming_player_settings WHERE uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    profile.setAutoCollectEnabled(rs.getBoolean("auto_collect_enabled"));
+                    profile.setHologramsEnabled(rs.getBoolean("hologram_enabled"));
+                    profile.setNotificationsEnabled(rs.getBoolean("notifications_enabled"));
+                    profile.setParticleEffectsEnabled(rs.getBoolean("particle_effects_enabled"));
+                    profile.setDropToInventory(rs.getBoolean("drop_to_inventory"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Request that the player's farm changes are persisted. Changes are tracked per farm
+     * via dirty flags and written by the shared write-behind flusher, so repeated calls
+     * within the flush delay coalesce into a single batched transaction.
+     */
     public void savePlayerData(UUID playerUuid) {
-        List<FarmInstance> farms = playerFarms.get(playerUuid);
-        if (farms == null) return;
-
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                for (FarmInstance farm : farms) {
-                    // Save farm data
-                    String sql = "INSERT INTO farming_player_plantations (uuid, farm_type, instance_id, level, efficiency, last_harvest, total_harvests, exp) " +
-                               "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
-                               "level = VALUES(level), efficiency = VALUES(efficiency), last_harvest = VALUES(last_harvest), " +
-                               "total_harvests = VALUES(total_harvests), exp = VALUES(exp)";
-                    
-                    PreparedStatement stmt = database.prepareStatement(sql);
-                    stmt.setString(1, playerUuid.toString());
-                    stmt.setString(2, farm.getFarmType().getId());
-                    stmt.setInt(3, farm.getInstanceId());
-                    stmt.setInt(4, farm.getLevel());
-                    stmt.setInt(5, farm.getEfficiency());
-                    stmt.setLong(6, farm.getLastHarvest());
-                    stmt.setInt(7, farm.getTotalHarvests());
-                    stmt.setInt(8, farm.getExp());
-                    stmt.executeUpdate();
-                    stmt.close();
-
-                    // Save stored materials
-                    saveStoredMaterials(playerUuid, farm);
+        if (!playerFarms.containsKey(playerUuid)) return;
+        requestFlush();
+    }
+
+    private void requestFlush() {
+        if (intakeStopped || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                flushScheduled.set(false);
+                flushDirtyFarms();
+            }, FLUSH_DELAY_TICKS);
+        } catch (IllegalStateException e) {
+            // Scheduler refuses new tasks while the plugin is disabling; shutdown flushes synchronously
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Write every dirty farm of every loaded player. Farms are batched per persistence lane and
+     * each batch is written in one transaction on its lane, so a player's farm writes stay
+     * ordered with their data load and reset. Main thread only, since the farms are
+     * snapshotted there before the write leaves it.
+     *
+     * @return future completed with the number of farms written
+     */
+    public CompletableFuture<Integer> flushDirtyFarms() {
+        List<FarmInstance.Snapshot> dirtyFarms = drainDirtyFarms();
+        if (dirtyFarms.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        Map<UUID, List<FarmInstance.Snapshot>> byOwner = new HashMap<>();
+        for (FarmInstance.Snapshot farm : dirtyFarms) {
+            byOwner.computeIfAbsent(farm.getOwnerId(), k -> new ArrayList<>()).add(farm);
+        }
+
+        PersistenceExecutor executor = plugin.getPersistenceExecutor();
+        List<CompletableFuture<Integer>> writes = new ArrayList<>();
+        for (Map<UUID, List<FarmInstance.Snapshot>> batch : executor.partitionByLane(byOwner)) {
+            List<FarmInstance.Snapshot> farms = new ArrayList<>();
+            batch.values().forEach(farms::addAll);
+            writes.add(executor.supply(batch.keySet().iterator().next(), conn -> writeBatch(conn, farms)).exceptionally(e -> {
+                restoreDirtyFarms(farms);
+                plugin.getLogger().log(Level.SEVERE, "Could not flush " + farms.size() + " farm(s) to the database", e);
+                return 0;
+            }));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> writes.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    private int writeBatch(Connection conn, List<FarmInstance.Snapshot> farms) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            writeFarms(conn, farms, 0);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        plugin.debug("Flushed " + farms.size() + " dirty farm(s)");
+        return farms.size();
+    }
+
+    /**
+     * Stop scheduling write-behind flushes; used on shutdown once the final flush takes over
+     */
+    public void stopIntake() {
+        intakeStopped = true;
+    }
+
+    /**
+     * Snapshot every dirty farm of every loaded player, clearing their dirty flags. Main thread only.
+     */
+    public synchronized List<FarmInstance.Snapshot> drainDirtyFarms() {
+        List<FarmInstance.Snapshot> dirtyFarms = new ArrayList<>();
+        for (PlayerFarms farms : playerFarms.values()) {
+            for (FarmInstance farm : farms.asList()) {
+                if (farm.consumeDirty()) {
+                    dirtyFarms.add(farm.snapshot());
                 }
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not save player plantation data for " + playerUuid, e);
             }
-        });
+        }
+        return dirtyFarms;
     }
 
-    private void saveStoredMaterials(UUID playerUuid, FarmInstance farm) throws SQLException {
-        String json = gson.toJson(farm.getStoredMaterials());
-        
-        String sql = "INSERT INTO farming_plantation_storage (uuid, farm_type, instance_id, stored_materials_json, auto_collect) " +
-                   "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
-                   "stored_materials_json = VALUES(stored_materials_json), auto_collect = VALUES(auto_collect)";
-        
-        PreparedStatement stmt = database.prepareStatement(sql);
-        stmt.setString(1, playerUuid.toString());
-        stmt.setString(2, farm.getFarmType().getId());
-        stmt.setInt(3, farm.getInstanceId());
-        stmt.setString(4, json);
-        stmt.setBoolean(5, false); // Auto-collect always false now
-        stmt.executeUpdate();
-        stmt.close();
+    /**
+     * Mark drained farms dirty again after a failed write so the next flush retries them
+     */
+    public void restoreDirtyFarms(List<FarmInstance.Snapshot> farms) {
+        farms.forEach(farm -> farm.getFarm().markDirty());
+    }
+
+    /**
+     * Add farm rows to the caller's transaction; does not commit
+     *
+     * @param queryTimeoutSeconds statement timeout, or 0 for none
+     */
+    public void writeFarms(Connection conn, List<FarmInstance.Snapshot> farms, int queryTimeoutSeconds) throws SQLException {
+        if (farms.isEmpty()) return;
+
+        String farmSql = "INSERT INTO farming_player_plantations (uuid, farm_type, instance_id, level, efficiency, last_harvest, total_harvests, exp) " +
+                       "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                       "level = VALUES(level), efficiency = VALUES(efficiency), last_harvest = VALUES(last_harvest), " +
+                       "total_harvests = VALUES(total_harvests), exp = VALUES(exp)";
+        String storageSql = "INSERT INTO farming_plantation_storage (uuid, farm_type, instance_id, stored_materials, auto_collect) " +
+                          "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                          "stored_materials = VALUES(stored_materials), auto_collect = VALUES(auto_collect)";
+
+        try (PreparedStatement farmStmt = conn.prepareStatement(farmSql);
+             PreparedStatement storageStmt = conn.prepareStatement(storageSql)) {
+            farmStmt.setQueryTimeout(queryTimeoutSeconds);
+            storageStmt.setQueryTimeout(queryTimeoutSeconds);
+            for (FarmInstance.Snapshot farm : farms) {
+                String uuid = farm.getOwnerId().toString();
+
+                farmStmt.setString(1, uuid);
+                farmStmt.setString(2, farm.getFarmType().getId());
+                farmStmt.setInt(3, farm.getInstanceId());
+                farmStmt.setInt(4, farm.getLevel());
+                farmStmt.setInt(5, farm.getEfficiency());
+                farmStmt.setLong(6, farm.getLastHarvest());
+                farmStmt.setInt(7, farm.getTotalHarvests());
+                farmStmt.setInt(8, farm.getExp());
+                farmStmt.addBatch();
+
+                storageStmt.setString(1, uuid);
+                storageStmt.setString(2, farm.getFarmType().getId());
+                storageStmt.setInt(3, farm.getInstanceId());
+                storageStmt.setBytes(4, farm.getStoredMaterials());
+                storageStmt.setBoolean(5, false); // Auto-collect always false now
+                storageStmt.addBatch();
+            }
+            farmStmt.executeBatch();
+            storageStmt.executeBatch();
+        }
+    }
+
+    /**
+     * Get the loaded profile of a player, or null if their data hasn't been loaded
+     */
+    public PlayerProfile getProfile(UUID playerUuid) {
+        return profiles.get(playerUuid);
     }
 
+    /**
+     * Get a read-only view of the player's farms; nothing is copied or allocated
+     */
     public List<FarmInstance> getPlayerFarms(UUID playerUuid) {
-        return playerFarms.getOrDefault(playerUuid, new ArrayList<>());
+        PlayerFarms farms = playerFarms.get(playerUuid);
+        return farms != null ? farms.asList() : Collections.emptyList();
     }
 
     public FarmInstance getFarmInstance(UUID playerUuid, FarmType farmType, int instanceId) {
-        return getPlayerFarms(playerUuid).stream()
-                .filter(farm -> farm.getFarmType() == farmType && farm.getInstanceId() == instanceId)
-                .findFirst()
-                .orElse(null);
+        PlayerFarms farms = playerFarms.get(playerUuid);
+        return farms != null ? farms.get(farmType, instanceId) : null;
+    }
+
+    /**
+     * Drop all in-memory data of a player (e.g. after an admin reset); it is reloaded on next access
+     */
+    public void clearPlayerData(UUID playerUuid) {
+        playerFarms.remove(playerUuid);
+        profiles.remove(playerUuid);
+        lastSpecialDropTimes.remove(playerUuid);
+        plugin.getOverflowStorageManager().clearPlayer(playerUuid);
+        plugin.getOfflineGrowthManager().unschedulePlayer(playerUuid);
+        plugin.getStatsManager().clearPlayer(playerUuid);
     }
 
     /**
@@ -323,103 +576,144 @@ public class PlantationManager {
         if (cycles <= 0) return;
         cycles = Math.min(cycles, farm.getMaxStorage());
 
-        Random random = new Random();
         Location dropLoc = farm.getLocation().clone().add(0.5, 1.5, 0.5);
         FruitType fruitType = FruitType.getForFarm(farm.getFarmType());
-        double levelMultiplier = 1.0 + (farm.getLevel() - 1) * 0.2;
-        int totalFruit = 0;
+        double levelMultiplier = DropTable.levelMultiplier(farm.getLevel());
+        DropTable dropTable = getDropTable(farm.getFarmType());
+        List<MaterialDrop> drops = dropTable.getDrops();
 
         String farmKey = farm.getFarmType().getId() + "_" + farm.getInstanceId();
         Map<String, Long> playerSpecialDrops = lastSpecialDropTimes.computeIfAbsent(farm.getOwnerId(), k -> new HashMap<>());
         long lastSpecialDrop = playerSpecialDrops.getOrDefault(farmKey, 0L);
-        long specialDropCooldown = 1000L * 60 * 30; // 30 minutes
-        MaterialManager mm = plugin.getMaterialManager();
 
-        for (int i = 0; i < cycles; i++) {
-            long cycleTime = farm.getLastHarvest() + growthTime * (i + 1);
+        // All cycles are resolved at once; cost doesn't depend on how long the farm was left alone
+        HarvestEngine.HarvestResult result = HarvestEngine.harvest((int) cycles, farm.getLastHarvest(), growthTime,
+                levelMultiplier, dropTable.getChances(farm.getLevel()), dropTable.getAnyDropChance(farm.getLevel()),
+                lastSpecialDrop, SPECIAL_DROP_COOLDOWN);
 
-            int baseFruitAmount = 3 + random.nextInt(3); // 3-5 base
-            int fruitAmount = (int) (baseFruitAmount * levelMultiplier);
-            if (fruitType != null && fruitAmount > 0) {
-                ItemStack fruitItem = fruitType.createItem(fruitAmount);
-                player.getWorld().dropItemNaturally(dropLoc, fruitItem);
-                totalFruit += fruitAmount;
+        // Straight-to-inventory mode never spawns item entities; what doesn't fit is buffered
+        PlayerProfile profile = profiles.get(farm.getOwnerId());
+        boolean toInventory = profile != null && profile.isDropToInventory();
+        OverflowStorageManager overflowStorage = plugin.getOverflowStorageManager();
+        int overflowed = 0;
+
+        StringBuilder summary = new StringBuilder();
+        if (fruitType != null && result.getFruitAmount() > 0) {
+            if (toInventory) {
+                overflowed += overflowStorage.deliver(player, OverflowStorageManager.fruitKey(fruitType),
+                        fruitType.createItem(1), result.getFruitAmount());
+            } else {
+                dropStacks(dropLoc, fruitType.createItem(1), result.getFruitAmount());
             }
+            summary.append(ChatColor.GREEN).append("✦ Harvested ").append(result.getFruitAmount()).append("x ")
+                   .append(fruitType.getDisplayName()).append(ChatColor.GREEN).append("!");
+        }
 
-            long timeSinceLastSpecial = cycleTime - lastSpecialDrop;
-            if (timeSinceLastSpecial > specialDropCooldown) {
-                List<MaterialDrop> drops = farmDrops.get(farm.getFarmType());
-                if (drops != null) {
-                    boolean droppedSomething = false;
-                    for (MaterialDrop drop : drops) {
-                        double chance = drop.getRate() * levelMultiplier;
-                        if (random.nextDouble() * 100.0 <= chance) {
-                            ItemStack materialItem = mm.createMaterial(drop.getMaterialType(), drop.getTier(), 1);
-                            player.getWorld().dropItemNaturally(dropLoc, materialItem);
-                            droppedSomething = true;
-
-                            player.sendMessage(ChatColor.GOLD + "★ RARE DROP! " + ChatColor.YELLOW +
-                                    drop.getMaterialType().getDisplayName() + " Tier " + drop.getTier());
-                            player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.5f);
-
-                            player.getWorld().spawnParticle(
-                                    org.bukkit.Particle.TOTEM,
-                                    dropLoc,
-                                    30, 0.5, 1, 0.5, 0.1
-                            );
-                        }
-                    }
-                    if (droppedSomething) {
-                        lastSpecialDrop = cycleTime;
-                        playerSpecialDrops.put(farmKey, lastSpecialDrop);
-                    }
+        if (result.hasRareDrops()) {
+            MaterialManager mm = plugin.getMaterialManager();
+            List<String> rareDrops = new ArrayList<>();
+            for (int i = 0; i < drops.size(); i++) {
+                int amount = result.getDropCount(i);
+                if (amount <= 0) continue;
+
+                MaterialDrop drop = drops.get(i);
+                ItemStack template = mm.createMaterial(drop.getMaterialType(), drop.getTier(), 1);
+                if (toInventory) {
+                    overflowed += overflowStorage.deliver(player,
+                            OverflowStorageManager.materialKey(drop.getMaterialType(), drop.getTier()), template, amount);
+                } else {
+                    dropStacks(dropLoc, template, amount);
                 }
+                rareDrops.add(amount + "x " + drop.getMaterialType().getDisplayName() + " Tier " + drop.getTier());
             }
+            playerSpecialDrops.put(farmKey, result.getLastSpecialDrop());
 
-            farm.incrementHarvests();
-            farm.addExp(10 + fruitAmount);
+            if (summary.length() > 0) summary.append(" ");
+            summary.append(ChatColor.GOLD).append("★ RARE DROP! ").append(ChatColor.YELLOW)
+                   .append(String.join(", ", rareDrops));
         }
 
-        if (fruitType != null && totalFruit > 0) {
-            player.sendMessage(ChatColor.GREEN + "✦ Harvested " + totalFruit + "x " +
-                    fruitType.getDisplayName() + ChatColor.GREEN + "!");
-            player.getWorld().spawnParticle(
-                    org.bukkit.Particle.VILLAGER_HAPPY,
-                    dropLoc,
-                    20, 0.5, 0.5, 0.5, 0.1
-            );
+        farm.incrementHarvests(result.getCycles());
+        farm.addExp(result.getExp());
+
+        StatsManager statsManager = plugin.getStatsManager();
+        statsManager.increment(farm.getOwnerId(), StatsManager.Stat.HARVESTS, result.getCycles());
+        long collected = result.getFruitAmount();
+        for (int i = 0; i < drops.size(); i++) {
+            collected += result.getDropCount(i);
+        }
+        statsManager.increment(farm.getOwnerId(), StatsManager.Stat.MATERIALS_COLLECTED, collected);
+
+        // One summary message and effect for the whole batch
+        if (summary.length() > 0) {
+            player.sendMessage(summary.toString());
+        }
+        if (overflowed > 0) {
+            player.sendMessage(ChatColor.YELLOW + "⚠ Inventory full! " + overflowed +
+                    " item(s) moved to your overflow storage. Use " + ChatColor.GOLD + "/plantation claim" +
+                    ChatColor.YELLOW + " to collect them.");
+        }
+        if (result.hasRareDrops()) {
+            player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.5f);
+            player.getWorld().spawnParticle(org.bukkit.Particle.TOTEM, dropLoc, 30, 0.5, 1, 0.5, 0.1);
+        } else {
+            player.playSound(dropLoc, Sound.ITEM_BUNDLE_DROP_CONTENTS, 1.0f, 1.0f);
+            player.getWorld().spawnParticle(org.bukkit.Particle.VILLAGER_HAPPY, dropLoc, 20, 0.5, 0.5, 0.5, 0.1);
         }
 
         farm.setLastHarvest(currentTime);
 
         checkLevelUp(farm);
+        plugin.getOfflineGrowthManager().scheduleFarm(farm);
 
         if (plugin.getHologramManager() != null) {
             // Force update to ensure hologram reflects new state immediately after harvest
             plugin.getHologramManager().updateHologram(farm, true);
         }
 
-        player.playSound(dropLoc, Sound.ITEM_BUNDLE_DROP_CONTENTS, 1.0f, 1.0f);
+        // Queue the changes for the write-behind flusher
+        savePlayerData(farm.getOwnerId());
+    }
 
-        // Save data asynchronously after harvest
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            savePlayerData(farm.getOwnerId());
-        });
+    /**
+     * Drop an amount of an item as few full stacks as possible
+     */
+    private void dropStacks(Location location, ItemStack template, int amount) {
+        int maxStack = Math.max(1, template.getMaxStackSize());
+        while (amount > 0) {
+            ItemStack stack = template.clone();
+            stack.setAmount(Math.min(maxStack, amount));
+            amount -= stack.getAmount();
+            location.getWorld().dropItemNaturally(location, stack);
+        }
     }
 
     /**
-     * Check if player can unlock a farm type
+     * Check whether a farm type has been unlocked. Answered from the player's loaded profile;
+     * farms count as locked until the profile is loaded.
      */
-    public boolean canUnlockFarm(UUID playerUuid, FarmType farmType) {
-        if (farmType == FarmType.BERRY_ORCHARDS) return true;
+    public boolean isFarmUnlocked(UUID playerUuid, FarmType farmType) {
+        PlayerProfile profile = profiles.get(playerUuid);
+        return profile != null && profile.isFarmUnlocked(farmType);
+    }
+
+    /**
+     * Check if player can unlock a farm type. Without the pouch integration the stored material
+     * amounts are read on the player's persistence lane; the future completes on the main thread.
+     */
+    public CompletableFuture<Boolean> canUnlockFarm(UUID playerUuid, FarmType farmType) {
+        if (farmType == FarmType.BERRY_ORCHARDS) return CompletableFuture.completedFuture(true);
+
+        // Unlocks aren't known before the profile is loaded
+        if (!profiles.containsKey(playerUuid)) return CompletableFuture.completedFuture(false);
         
         // Check if already unlocked
-        if (database.isFarmUnlocked(playerUuid, farmType.getId())) {
-            return true;
+        if (isFarmUnlocked(playerUuid, farmType)) {
+            return CompletableFuture.completedFuture(true);
         }
         
         Map<MaterialType, Integer> requirements = unlockRequirements.get(farmType);
-        if (requirements == null) return true;
+        if (requirements == null) return CompletableFuture.completedFuture(true);
         
         // Check material requirements (inventory + pouch)
         if (plugin.getPouchIntegrationManager().isEnabled()) {
@@ -428,42 +722,64 @@ public class PlantationManager {
                 materialMap.put(req.getKey(), req.getValue());
             }
             Player player = plugin.getServer().getPlayer(playerUuid);
-            if (player == null || !plugin.getPouchIntegrationManager().hasUpgradeMaterials(player, materialMap)) {
-                return false;
-            }
-        } else {
-            // Fallback to inventory-only check
+            return CompletableFuture.completedFuture(
+                player != null && plugin.getPouchIntegrationManager().hasUpgradeMaterials(player, materialMap));
+        }
+
+        // Fallback to inventory-only check
+        return hasStoredMaterials(playerUuid, requirements);
+    }
+
+    /**
+     * Check the player's stored tier 1 materials against the requirements on their persistence
+     * lane. The future completes on the main thread, with false if the check failed.
+     */
+    private CompletableFuture<Boolean> hasStoredMaterials(UUID playerUuid, Map<MaterialType, Integer> requirements) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        plugin.getPersistenceExecutor().supply(playerUuid, conn -> {
             for (Map.Entry<MaterialType, Integer> req : requirements.entrySet()) {
-                MaterialType materialType = req.getKey();
-                int requiredAmount = req.getValue();
-                
-                // Check tier 1 materials by default
-                int playerAmount = database.getPlayerMaterialAmount(playerUuid, materialType.getId(), 1);
-                
-                if (playerAmount < requiredAmount) {
+                if (database.getPlayerMaterialAmount(conn, playerUuid, req.getKey().getId(), 1) < req.getValue()) {
                     return false;
                 }
             }
-        }
-        
-        return true;
+            return true;
+        }).whenComplete((enough, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Could not check stored materials of " + playerUuid, error);
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> result.complete(error == null && enough));
+        });
+        return result;
     }
 
     /**
      * Unlock a farm type for player
+     *
+     * @return future completed on the main thread with whether the farm was unlocked
      */
-    public boolean unlockFarm(UUID playerUuid, FarmType farmType) {
-        if (!canUnlockFarm(playerUuid, farmType)) {
+    public CompletableFuture<Boolean> unlockFarm(UUID playerUuid, FarmType farmType) {
+        return canUnlockFarm(playerUuid, farmType)
+            .thenApply(canUnlock -> canUnlock && completeUnlock(playerUuid, farmType));
+    }
+
+    private boolean completeUnlock(UUID playerUuid, FarmType farmType) {
+        // The player may have left and been unloaded while the materials were checked
+        if (!profiles.containsKey(playerUuid)) {
             return false;
         }
-        
+
+        // Another unlock may have finished while the materials were checked
+        if (isFarmUnlocked(playerUuid, farmType)) {
+            return true;
+        }
+
         Player player = Bukkit.getPlayer(playerUuid);
         
         // Check money
-        if (!plugin.getEconomyManager().hasBalance(playerUuid, farmType.getUnlockCost())) {
+        if (!plugin.getEconomyManager().hasBalance(playerUuid, getUnlockCost(farmType))) {
             if (player != null) {
                 player.sendMessage(ChatColor.RED + "Insufficient funds! You need " + 
-                    plugin.getEconomyManager().formatMoney(farmType.getUnlockCost()));
+                    plugin.getEconomyManager().formatMoney(getUnlockCost(farmType)));
             }
             return false;
         }
@@ -493,7 +809,8 @@ public class PlantationManager {
                     int requiredAmount = req.getValue();
                     
                     // Deduct from database
-                    database.updatePlayerMaterial(playerUuid, materialType.getId(), 1, -requiredAmount);
+                    plugin.getPersistenceExecutor().execute(playerUuid,
+                        () -> database.updatePlayerMaterial(playerUuid, materialType.getId(), 1, -requiredAmount));
                     usedMaterials.put(materialType.getId() + "_tier_1", requiredAmount);
                     
                     // Remove from player inventory if online
@@ -505,15 +822,20 @@ public class PlantationManager {
         }
         
         // Deduct money
-        plugin.getEconomyManager().withdrawMoney(playerUuid, farmType.getUnlockCost());
+        plugin.getEconomyManager().withdrawMoney(playerUuid, getUnlockCost(farmType));
         
-        // Save unlock to database
+        // Save unlock to memory and database
+        PlayerProfile profile = profiles.get(playerUuid);
+        if (profile != null) {
+            profile.addUnlockedFarm(farmType);
+        }
         String materialsJson = gson.toJson(usedMaterials);
-        database.saveFarmUnlock(playerUuid, farmType.getId(), farmType.getUnlockCost(), materialsJson);
+        plugin.getPersistenceExecutor().execute(playerUuid,
+            () -> database.saveFarmUnlock(playerUuid, farmType.getId(), getUnlockCost(farmType), materialsJson));
         
         // Update stats
-        database.updatePlayerStats(playerUuid, "total_farms_created", 1);
-        database.updatePlayerStats(playerUuid, "total_money_spent", (long) farmType.getUnlockCost());
+        plugin.getStatsManager().increment(playerUuid, StatsManager.Stat.FARMS_CREATED, 1);
+        plugin.getStatsManager().incrementAmount(playerUuid, StatsManager.Stat.MONEY_SPENT, getUnlockCost(farmType));
         
         if (player != null) {
             player.sendMessage(ChatColor.GREEN + "Successfully unlocked " + farmType.getDisplayName() + "!");
@@ -523,37 +845,59 @@ public class PlantationManager {
         return true;
     }
 
-    public boolean attemptUnlock(Player player, FarmType type, int instanceId) {
-        UUID uid = player.getUniqueId();
+    /**
+     * Unlock a locked farm spot of an online player
+     *
+     * @return future completed on the main thread with whether the spot was unlocked
+     */
+    public CompletableFuture<Boolean> attemptUnlock(Player player, FarmType type, int instanceId) {
+        String unlockKey = unlockKey(player.getUniqueId(), type, instanceId);
+        if (!pendingUnlocks.add(unlockKey)) {
+            return CompletableFuture.completedFuture(false);
+        }
 
         Map<MaterialType, Integer> requirements = unlockRequirements.get(type);
-        if (requirements != null) {
-            for (Map.Entry<MaterialType, Integer> req : requirements.entrySet()) {
-                int have = database.getPlayerMaterialAmount(uid, req.getKey().getId(), 1);
-                if (have < req.getValue()) {
-                    return false;
-                }
-            }
+        CompletableFuture<Boolean> hasMaterials = requirements != null
+            ? hasStoredMaterials(player.getUniqueId(), requirements)
+            : CompletableFuture.completedFuture(true);
+        return hasMaterials
+            .thenApply(enough -> enough && player.isOnline() && completeAttemptUnlock(player, type, instanceId))
+            .whenComplete((unlocked, error) -> pendingUnlocks.remove(unlockKey));
+    }
+
+    public boolean isUnlockPending(UUID playerUuid, FarmType type, int instanceId) {
+        return pendingUnlocks.contains(unlockKey(playerUuid, type, instanceId));
+    }
+
+    private static String unlockKey(UUID playerUuid, FarmType type, int instanceId) {
+        return playerUuid + ":" + type.getId() + ":" + instanceId;
+    }
+
+    private boolean completeAttemptUnlock(Player player, FarmType type, int instanceId) {
+        UUID uid = player.getUniqueId();
+        Map<MaterialType, Integer> requirements = unlockRequirements.get(type);
+
+        // The spot may have been unlocked while the materials were checked
+        if (getFarmInstance(uid, type, instanceId) != null) {
+            return true;
         }
 
-        if (!plugin.getEconomyManager().hasBalance(uid, type.getUnlockCost())) {
+        if (!plugin.getEconomyManager().hasBalance(uid, getUnlockCost(type))) {
             return false;
         }
 
         if (requirements != null) {
             for (Map.Entry<MaterialType, Integer> req : requirements.entrySet()) {
-                database.updatePlayerMaterial(uid, req.getKey().getId(), 1, -req.getValue());
+                plugin.getPersistenceExecutor().execute(uid,
+                    () -> database.updatePlayerMaterial(uid, req.getKey().getId(), 1, -req.getValue()));
                 removeMaterialFromInventory(player, req.getKey(), 1, req.getValue());
             }
         }
 
-        plugin.getEconomyManager().withdrawMoney(uid, type.getUnlockCost());
+        plugin.getEconomyManager().withdrawMoney(uid, getUnlockCost(type));
 
         Location loc = plugin.getPlantationAreaManager().getOrCreateFarmAnchor(uid, type, instanceId);
-        FarmInstance fi = getFarmInstance(uid, type, instanceId);
-        if (fi == null) {
-            createFarmInstance(uid, type, instanceId, loc);
-        }
+        createFarmInstance(uid, type, instanceId, loc);
         savePlayerData(uid);
 
         player.sendMessage(ChatColor.GREEN + "Unlocked: " + type.getDisplayName() + " #" + instanceId);
@@ -588,37 +932,60 @@ public class PlantationManager {
     }
 
     public FarmInstance createFarmInstance(UUID playerUuid, FarmType farmType, int instanceId, Location location) {
-        List<FarmInstance> farms = playerFarms.computeIfAbsent(playerUuid, k -> new ArrayList<>());
+        PlayerFarms farms = playerFarms.computeIfAbsent(playerUuid, k -> new PlayerFarms());
         
         FarmInstance instance = new FarmInstance(playerUuid, farmType, instanceId);
         instance.setLocation(location);
-        farms.add(instance);
+        FarmInstance existing = farms.add(instance);
+        if (existing != instance) {
+            return existing;
+        }
         
         // Create hologram
         if (plugin.getHologramManager() != null) {
             plugin.getHologramManager().updateHologram(instance);
         }
+        plugin.getOfflineGrowthManager().scheduleFarm(instance);
         
         // Update stats
-        database.updatePlayerStats(playerUuid, "total_farms_created", 1);
+        plugin.getStatsManager().increment(playerUuid, StatsManager.Stat.FARMS_CREATED, 1);
 
         return instance;
     }
     
     public void clearAllData() {
         playerFarms.clear();
+        profiles.clear();
         lastSpecialDropTimes.clear();
+        plugin.getOverflowStorageManager().clearAll();
+        plugin.getOfflineGrowthManager().clearAll();
+        plugin.getStatsManager().clearAll();
         // farmDrops and unlockRequirements are config-based, so don't clear them
     }
 
-    public long getHarvestIntervalMillis(FarmInstance farm) {
-        if (plugin.getConfig().getBoolean("test_mode.enabled", false)) {
-            int mins = plugin.getConfig().getInt("test_mode.growth_minutes", 1);
-            plugin.getLogger().info("TEST MODE: Farm " + farm.getFarmType().getId() +
-                                   " will grow in " + mins + " minute(s)");
-            return TimeUnit.MINUTES.toMillis(mins);
+    public long getHarvestIntervalMillis(FarmType farmType) {
+        PluginSettings settings = plugin.getSettings();
+        if (settings.isTestModeEnabled()) {
+            return TimeUnit.MINUTES.toMillis(settings.getTestModeGrowthMinutes());
+        }
+        return TimeUnit.SECONDS.toMillis(farmType.getHarvestSeconds());
+    }
+
+    /**
+     * Recompute growth times of all loaded farms, e.g. after a config reload
+     */
+    public void invalidateGrowthTimes() {
+        for (PlayerFarms farms : playerFarms.values()) {
+            for (FarmInstance farm : farms.asList()) {
+                farm.invalidateGrowthTime();
+            }
+        }
+        // Drop the events computed from the old growth times instead of leaving them queued
+        OfflineGrowthManager growthManager = plugin.getOfflineGrowthManager();
+        growthManager.clearAll();
+        for (UUID playerUuid : playerFarms.keySet()) {
+            growthManager.schedulePlayer(playerUuid);
         }
-        return TimeUnit.SECONDS.toMillis(farm.getFarmType().getHarvestSeconds());
     }
 
     /**
@@ -650,18 +1017,29 @@ public class PlantationManager {
     }
 
     public List<MaterialDrop> getFarmDrops(FarmType farmType) {
-        return farmDrops.getOrDefault(farmType, new ArrayList<>());
+        return getDropTable(farmType).getDrops();
+    }
+
+    public DropTable getDropTable(FarmType farmType) {
+        return farmDrops.getOrDefault(farmType, DropTable.empty());
     }
 
     /**
-     * Start auto-save task
+     * Money needed to unlock a farm type, as configured
      */
-    private void startAutoSaveTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            for (UUID uuid : playerFarms.keySet()) {
-                savePlayerData(uuid);
-            }
-        }, 20L * 60 * 5, 20L * 60 * 5); // Every 5 minutes
+    public long getUnlockCost(FarmType farmType) {
+        return unlockCosts.getOrDefault(farmType, farmType.getUnlockCost());
+    }
+
+    /**
+     * (Re)start the periodic write-behind flush of dirty farms with the configured interval
+     */
+    public void startFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        long interval = 20L * plugin.getSettings().getFlushIntervalSeconds();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flushDirtyFarms, interval, interval);
     }
 
     /**
@@ -678,7 +1056,7 @@ public class PlantationManager {
             }
         }
         
-        display.add(ChatColor.GOLD + "• " + plugin.getEconomyManager().formatMoney(farmType.getUnlockCost()));
+        display.add(ChatColor.GOLD + "• " + plugin.getEconomyManager().formatMoney(getUnlockCost(farmType)));
         
         return display;
     }
@@ -0,0 +1,310 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.database.DatabaseManager;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Hands out plot slots on the plantation grid. Every slot is a row in farming_plot_slots that
+ * is claimed in the same transaction that records the player's plot, so concurrent allocations
+ * never share a slot. Released slots are reused lowest index first; once the configured grid
+ * is full, new rows are added up to {@code grid.max_rows}. Cells covered by legacy plots that
+ * are off the grid stay reserved for their owner.
+ */
+public class PlotAllocator {
+    private static final int CLAIM_ATTEMPTS = 3;
+
+    private final FarmingPlugin plugin;
+    private final World world;
+    private final int originX, originY, originZ;
+    private final int cellWidth, cellDepth;
+    private final int gridCols;
+    private final int maxRows;
+    private final CompletableFuture<Void> ready;
+
+    public PlotAllocator(FarmingPlugin plugin, World world, int originX, int originY, int originZ,
+                         int cellWidth, int cellDepth, int gridCols, int maxRows) {
+        this.plugin = plugin;
+        this.world = world;
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.cellWidth = cellWidth;
+        this.cellDepth = cellDepth;
+        this.gridCols = gridCols;
+        this.maxRows = maxRows;
+
+        // Claims wait for existing plots to be recorded as slots
+        this.ready = plugin.getPersistenceExecutor().supply(null, this::registerExistingPlots)
+            .exceptionally(e -> {
+                plugin.getLogger().log(Level.SEVERE, "Could not register existing plots as slots", e);
+                return null;
+            });
+    }
+
+    public int getCapacity() {
+        return maxRows * gridCols;
+    }
+
+    /**
+     * Find the player's plot, claiming a free slot if they have none. Runs on the player's
+     * persistence lane.
+     *
+     * @return future with the plot origin; fails with IllegalStateException when no slot is left
+     */
+    public CompletableFuture<Location> findOrClaim(UUID uuid) {
+        return ready.thenCompose(ignored -> plugin.getPersistenceExecutor().supply(uuid, conn -> {
+            DatabaseManager database = plugin.getDatabaseManager();
+            Optional<Location> existing = database.loadPlayerPlot(conn, uuid);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            if (world == null) {
+                throw new IllegalStateException("The plantation world is not loaded");
+            }
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int slot = claimSlot(conn, uuid);
+                Location origin = slotOrigin(slot);
+                if (slot >= getCapacity() || !world.getWorldBorder().isInside(origin)
+                        || !world.getWorldBorder().isInside(origin.clone().add(cellWidth, 0, cellDepth))) {
+                    throw new IllegalStateException("No free plantation plots are available");
+                }
+
+                database.savePlayerPlot(conn, uuid, world.getName(),
+                        origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+                conn.commit();
+                plugin.getLogger().info("Allocated plot slot " + slot + " for " + uuid + " at coordinates: " +
+                        origin.getBlockX() + ", " + origin.getBlockY() + ", " + origin.getBlockZ());
+                return origin;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }));
+    }
+
+    private int claimSlot(Connection conn, UUID uuid) throws SQLException {
+        // Reuse the lowest released slot; the row lock makes the claim atomic
+        String reuse = "UPDATE farming_plot_slots SET uuid = ?, claimed_at = CURRENT_TIMESTAMP " +
+                       "WHERE uuid IS NULL AND reserved_for IS NULL ORDER BY slot_index LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(reuse)) {
+            stmt.setString(1, uuid.toString());
+            if (stmt.executeUpdate() == 1) {
+                return findSlot(conn, uuid);
+            }
+        }
+
+        // No free slot: append a new one. The locking read sees the latest committed rows rather
+        // than this transaction's snapshot and blocks concurrent appends until we commit; an
+        // append that still collides on the primary key is retried with the next index
+        for (int attempt = 1; ; attempt++) {
+            int next;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COALESCE(MAX(slot_index) + 1, 0) FROM farming_plot_slots FOR UPDATE");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                next = rs.getInt(1);
+            }
+
+            String insert = "INSERT INTO farming_plot_slots (slot_index, uuid, claimed_at) VALUES (?, ?, CURRENT_TIMESTAMP)";
+            try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                stmt.setInt(1, next);
+                stmt.setString(2, uuid.toString());
+                stmt.executeUpdate();
+                return next;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (attempt >= CLAIM_ATTEMPTS) throw e;
+            }
+        }
+    }
+
+    private int findSlot(Connection conn, UUID uuid) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT slot_index FROM farming_plot_slots WHERE uuid = ?")) {
+            stmt.setString(1, uuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Claimed plot slot of " + uuid + " not found");
+                }
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Return the player's slot and reserved cells to the free list and delete their plot; runs
+     * in the caller's database work. The plot's blocks are left in place and verified by the
+     * next owner.
+     */
+    public void release(Connection conn, UUID uuid) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE farming_plot_slots SET uuid = NULL, claimed_at = NULL WHERE uuid = ?")) {
+            stmt.setString(1, uuid.toString());
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE farming_plot_slots SET reserved_for = NULL WHERE reserved_for = ?")) {
+            stmt.setString(1, uuid.toString());
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM farming_player_plots WHERE uuid = ?")) {
+            stmt.setString(1, uuid.toString());
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Slots are laid out row by row; rows past the configured grid extend it along z
+     */
+    public Location slotOrigin(int slot) {
+        int row = slot / gridCols;
+        int col = slot % gridCols;
+        return new Location(world, originX + col * cellWidth, originY, originZ + row * cellDepth);
+    }
+
+    /**
+     * Record plots created before slots existed, and free the gaps between them. A plot off the
+     * grid takes the first free cell it covers as its slot and reserves the other cells it
+     * covers, so no new plot is placed on top of it.
+     */
+    private Void registerExistingPlots(Connection conn) throws SQLException {
+        // Slot index -> whether the slot holds a player or a reservation
+        TreeMap<Integer, Boolean> slots = new TreeMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT slot_index, uuid, reserved_for FROM farming_plot_slots");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                slots.put(rs.getInt("slot_index"), rs.getString("uuid") != null || rs.getString("reserved_for") != null);
+            }
+        }
+
+        Map<Integer, String> owned = new TreeMap<>();
+        Map<Integer, String> reserved = new TreeMap<>();
+        int offGrid = 0;
+        int outside = 0;
+        int overlapping = 0;
+        String sql = "SELECT p.uuid, p.origin_x, p.origin_z FROM farming_player_plots p " +
+                     "LEFT JOIN farming_plot_slots s ON s.uuid = p.uuid WHERE s.uuid IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String uuid = rs.getString("uuid");
+                int dx = rs.getInt("origin_x") - originX;
+                int dz = rs.getInt("origin_z") - originZ;
+                List<Integer> covered = coveredSlots(dx, dz);
+                if (covered.isEmpty()) {
+                    outside++;
+                    continue;
+                }
+                if (covered.size() > 1) {
+                    offGrid++;
+                }
+
+                List<Integer> free = new ArrayList<>();
+                for (int slot : covered) {
+                    if (!slots.getOrDefault(slot, false)) {
+                        free.add(slot);
+                    }
+                }
+                if (free.size() < covered.size()) {
+                    overlapping++;
+                    plugin.getLogger().warning("Plot of " + uuid + " at " + rs.getInt("origin_x") + ", " +
+                            rs.getInt("origin_z") + " overlaps another plot");
+                }
+                if (free.isEmpty()) {
+                    continue;
+                }
+
+                owned.put(free.get(0), uuid);
+                slots.put(free.get(0), true);
+                for (int slot : free.subList(1, free.size())) {
+                    reserved.put(slot, uuid);
+                    slots.put(slot, true);
+                }
+            }
+        }
+
+        int free = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        String assignSql = "INSERT INTO farming_plot_slots (slot_index, uuid, reserved_for, claimed_at) VALUES (?, ?, ?, ?) " +
+                           "ON DUPLICATE KEY UPDATE uuid = VALUES(uuid), reserved_for = VALUES(reserved_for), " +
+                           "claimed_at = VALUES(claimed_at)";
+        try (PreparedStatement assign = conn.prepareStatement(assignSql);
+             PreparedStatement gap = conn.prepareStatement(
+                     "INSERT IGNORE INTO farming_plot_slots (slot_index, uuid, reserved_for, claimed_at) VALUES (?, NULL, NULL, NULL)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (Map.Entry<Integer, String> entry : owned.entrySet()) {
+                assign.setInt(1, entry.getKey());
+                assign.setString(2, entry.getValue());
+                assign.setNull(3, Types.VARCHAR);
+                assign.setTimestamp(4, now);
+                assign.addBatch();
+            }
+            for (Map.Entry<Integer, String> entry : reserved.entrySet()) {
+                assign.setInt(1, entry.getKey());
+                assign.setNull(2, Types.VARCHAR);
+                assign.setString(3, entry.getValue());
+                assign.setTimestamp(4, now);
+                assign.addBatch();
+            }
+            int highest = slots.isEmpty() ? -1 : slots.lastKey();
+            for (int slot = 0; slot < highest; slot++) {
+                if (!slots.containsKey(slot)) {
+                    gap.setInt(1, slot);
+                    gap.addBatch();
+                    free++;
+                }
+            }
+            assign.executeBatch();
+            gap.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        if (!owned.isEmpty() || free > 0) {
+            plugin.getLogger().info("Registered " + owned.size() + " existing plot(s) as slots, " + free + " free");
+        }
+        if (offGrid > 0) {
+            plugin.getLogger().warning(offGrid + " plot(s) are off the grid; " + reserved.size() +
+                    " cell(s) they cover are reserved so new plots don't overlap them");
+        }
+        if (outside > 0) {
+            plugin.getLogger().warning(outside + " plot(s) lie outside the grid and hold no slot");
+        }
+        if (overlapping > 0) {
+            plugin.getLogger().warning(overlapping + " plot(s) overlap another plot; move or reset them");
+        }
+        return null;
+    }
+
+    /**
+     * Grid slots a plot with the given offset from the grid origin covers, lowest first
+     */
+    private List<Integer> coveredSlots(int dx, int dz) {
+        List<Integer> covered = new ArrayList<>();
+        int lastRow = Math.min(maxRows - 1, Math.floorDiv(dz + cellDepth - 1, cellDepth));
+        int lastCol = Math.min(gridCols - 1, Math.floorDiv(dx + cellWidth - 1, cellWidth));
+        for (int row = Math.max(0, Math.floorDiv(dz, cellDepth)); row <= lastRow; row++) {
+            for (int col = Math.max(0, Math.floorDiv(dx, cellWidth)); col <= lastCol; col++) {
+                covered.add(row * gridCols + col);
+            }
+        }
+        return covered;
+    }
+}
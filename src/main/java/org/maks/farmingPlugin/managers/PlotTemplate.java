@@ -0,0 +1,138 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.MultipleFacing;
+
+import java.util.*;
+
+/**
+ * Block layout of an empty plot relative to its origin, compiled once into a palette of
+ * BlockData and packed offsets. Offsets are sorted by height, then row, so a stamp fills
+ * one chunk section at a time without resolving materials or creating block data.
+ */
+final class PlotTemplate {
+    // Offsets pack (dy + 128) << 16 | dz << 8 | dx
+    private static final int Y_BIAS = 128;
+
+    private final BlockData[] palette;
+    private final int[] offsets;
+    private final byte[] paletteIndex;
+
+    private PlotTemplate(BlockData[] palette, int[] offsets, byte[] paletteIndex) {
+        this.palette = palette;
+        this.offsets = offsets;
+        this.paletteIndex = paletteIndex;
+    }
+
+    /**
+     * Compile the floor, cleared space, fence with barriers, path and lanterns of a plot
+     */
+    static PlotTemplate compile(int width, int depth, Material fenceMaterial, Material pathMaterial) {
+        if (width > 256 || depth > 256) {
+            throw new IllegalArgumentException("Plot too large for a template: " + width + "x" + depth);
+        }
+
+        // Sorted by packed offset; later writes to the same block replace earlier ones
+        TreeMap<Integer, BlockData> blocks = new TreeMap<>();
+        int x2 = width - 1;
+        int z2 = depth - 1;
+        int gateX = width / 2;
+        int barrierY = 1;
+
+        BlockData grass = Material.GRASS_BLOCK.createBlockData();
+        BlockData air = Material.AIR.createBlockData();
+        BlockData barrier = Material.BARRIER.createBlockData();
+        BlockData lantern = Material.LANTERN.createBlockData();
+        BlockData path = pathMaterial.createBlockData();
+
+        // Create the floor and clear above ground
+        for (int x = 0; x <= x2; x++) {
+            for (int z = 0; z <= z2; z++) {
+                blocks.put(pack(x, -1, z), grass);
+                for (int y = 0; y <= 4; y++) {
+                    blocks.put(pack(x, y, z), air);
+                }
+            }
+        }
+
+        // Fence perimeter with high barriers to contain players and drops. Blocks are written
+        // without physics, so fence connections are part of the template
+        BlockData fenceX = fenceData(fenceMaterial, BlockFace.EAST, BlockFace.WEST);
+        BlockData fenceZ = fenceData(fenceMaterial, BlockFace.NORTH, BlockFace.SOUTH);
+        for (int x = 0; x <= x2; x++) {
+            boolean corner = x == 0 || x == x2;
+            BlockFace inward = x == 0 ? BlockFace.EAST : BlockFace.WEST;
+            blocks.put(pack(x, 0, 0), corner ? fenceData(fenceMaterial, inward, BlockFace.SOUTH) : fenceX);
+            blocks.put(pack(x, 0, z2), corner ? fenceData(fenceMaterial, inward, BlockFace.NORTH) : fenceX);
+
+            for (int y = barrierY; y < barrierY + 4; y++) {
+                blocks.put(pack(x, y, 0), barrier);
+                blocks.put(pack(x, y, z2), barrier);
+            }
+        }
+        for (int z = 1; z < z2; z++) {
+            blocks.put(pack(0, 0, z), fenceZ);
+            blocks.put(pack(x2, 0, z), fenceZ);
+
+            for (int y = barrierY; y < barrierY + 4; y++) {
+                blocks.put(pack(0, y, z), barrier);
+                blocks.put(pack(x2, y, z), barrier);
+            }
+        }
+
+        // Central path from spawn to back
+        for (int z = 5; z < z2; z++) {
+            blocks.put(pack(8, -1, z), path);
+        }
+
+        // Decorative lanterns by the entrance
+        blocks.put(pack(gateX - 1, 1, z2), lantern);
+        blocks.put(pack(gateX + 1, 1, z2), lantern);
+
+        Map<BlockData, Integer> paletteIds = new LinkedHashMap<>();
+        int[] offsets = new int[blocks.size()];
+        byte[] paletteIndex = new byte[blocks.size()];
+        int i = 0;
+        for (Map.Entry<Integer, BlockData> entry : blocks.entrySet()) {
+            offsets[i] = entry.getKey();
+            paletteIndex[i] = (byte) (int) paletteIds.computeIfAbsent(entry.getValue(), k -> paletteIds.size());
+            i++;
+        }
+        return new PlotTemplate(paletteIds.keySet().toArray(new BlockData[0]), offsets, paletteIndex);
+    }
+
+    /**
+     * Add every block of the template, placed at the given origin, to a batch
+     */
+    void stamp(BlockEditQueue.Batch batch, int originX, int originY, int originZ) {
+        for (int i = 0; i < offsets.length; i++) {
+            int offset = offsets[i];
+            batch.set(originX + (offset & 0xFF),
+                      originY + (offset >>> 16) - Y_BIAS,
+                      originZ + ((offset >>> 8) & 0xFF),
+                      palette[paletteIndex[i] & 0xFF]);
+        }
+    }
+
+    int size() {
+        return offsets.length;
+    }
+
+    private static int pack(int dx, int dy, int dz) {
+        return (dy + Y_BIAS) << 16 | dz << 8 | dx;
+    }
+
+    private static BlockData fenceData(Material fenceMaterial, BlockFace... faces) {
+        BlockData data = fenceMaterial.createBlockData();
+        if (data instanceof MultipleFacing facing) {
+            for (BlockFace face : faces) {
+                if (facing.getAllowedFaces().contains(face)) {
+                    facing.setFace(face, true);
+                }
+            }
+        }
+        return data;
+    }
+}
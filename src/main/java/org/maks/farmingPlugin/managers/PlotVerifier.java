@@ -0,0 +1,69 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.maks.farmingPlugin.FarmingPlugin;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Finds the blocks of a plot that differ from what it should look like. Chunk snapshots are
+ * taken on the main thread and compared asynchronously, so an intact plot costs no block writes.
+ */
+public class PlotVerifier {
+    private final FarmingPlugin plugin;
+
+    public PlotVerifier(FarmingPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Compare the expected blocks with the world. If the comparison fails, every expected
+     * change is returned so the plot is rebuilt in full.
+     *
+     * @return future completed on the main thread with the changes that still need applying
+     */
+    public CompletableFuture<BlockEditQueue.Batch> findDifferences(BlockEditQueue.Batch expected) {
+        CompletableFuture<BlockEditQueue.Batch> result = new CompletableFuture<>();
+        World world = expected.getWorld();
+        if (world == null || expected.isEmpty()) {
+            result.complete(expected);
+            return result;
+        }
+
+        List<Long> chunkKeys = new ArrayList<>(expected.getChunkKeys());
+        List<CompletableFuture<Chunk>> loads = new ArrayList<>(chunkKeys.size());
+        for (long chunkKey : chunkKeys) {
+            loads.add(world.getChunkAtAsync(BlockEditQueue.chunkX(chunkKey), BlockEditQueue.chunkZ(chunkKey)));
+        }
+
+        // Chunk loads complete on the main thread, where snapshots have to be taken
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+            Map<Long, ChunkSnapshot> snapshots = new HashMap<>();
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Could not load plot chunks for verification", error);
+            } else {
+                for (int i = 0; i < chunkKeys.size(); i++) {
+                    snapshots.put(chunkKeys.get(i), loads.get(i).join().getChunkSnapshot(false, false, false));
+                }
+            }
+
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                BlockEditQueue.Batch differences;
+                try {
+                    differences = expected.diff(snapshots);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.WARNING, "Plot verification failed, rebuilding in full", e);
+                    differences = expected;
+                }
+                BlockEditQueue.Batch repair = differences;
+                Bukkit.getScheduler().runTask(plugin, () -> result.complete(repair));
+            });
+        });
+        return result;
+    }
+}
@@ -0,0 +1,395 @@
+package org.maks.farmingPlugin.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.database.PersistenceExecutor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * In-memory player statistics. Stored totals are loaded with the player's data, increments
+ * go to per-stat LongAdders and are written as additive deltas by a periodic batched upsert,
+ * so reading or bumping a stat never touches the database on the calling thread.
+ * Money stats are kept in cents to match their DECIMAL columns.
+ */
+public class StatsManager {
+
+    public enum Stat {
+        FARMS_CREATED("total_farms_created", 0),
+        HARVESTS("total_harvests", 0),
+        MATERIALS_COLLECTED("total_materials_collected", 0),
+        MONEY_SPENT("total_money_spent", 2),
+        MONEY_EARNED("total_money_earned", 2),
+        PLAY_TIME_MINUTES("play_time_minutes", 0);
+
+        private final String column;
+        private final int scale;
+
+        Stat(String column, int scale) {
+            this.column = column;
+            this.scale = scale;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * Decimal places of the column; values are held as whole units of 10^-scale
+         */
+        public int getScale() {
+            return scale;
+        }
+    }
+
+    private static final Stat[] STATS = Stat.values();
+
+    private final FarmingPlugin plugin;
+    private final Map<UUID, PlayerStats> stats;
+    private BukkitTask flushTask;
+    // Players whose stored totals are being read outside the full player data load
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Totals of one player. A delta moves from pending to in flight when it is drained for a
+     * write, and into the base once the write commits. Until the stored totals are installed,
+     * the base only holds deltas committed after they were read. Guarded by the instance.
+     */
+    private static final class PlayerStats {
+        private final long[] base = new long[STATS.length];
+        private final long[] inFlight = new long[STATS.length];
+        private final LongAdder[] pending = new LongAdder[STATS.length];
+        private boolean loaded;
+        private boolean stored;
+
+        private PlayerStats() {
+            for (int i = 0; i < pending.length; i++) {
+                pending[i] = new LongAdder();
+            }
+        }
+
+        private synchronized boolean isIdle() {
+            for (int i = 0; i < pending.length; i++) {
+                if (inFlight[i] != 0 || pending[i].sum() != 0) return false;
+            }
+            return true;
+        }
+    }
+
+    public StatsManager(FarmingPlugin plugin) {
+        this.plugin = plugin;
+        this.stats = new ConcurrentHashMap<>();
+        startFlushTask();
+    }
+
+    /**
+     * Add to a stat, in the stat's own units (cents for money stats)
+     */
+    public void increment(UUID playerUuid, Stat stat, long amount) {
+        if (amount == 0) return;
+        stats.computeIfAbsent(playerUuid, k -> new PlayerStats()).pending[stat.ordinal()].add(amount);
+    }
+
+    /**
+     * Add an amount of money to a money stat
+     */
+    public void incrementAmount(UUID playerUuid, Stat stat, double amount) {
+        increment(playerUuid, stat, BigDecimal.valueOf(amount).movePointRight(stat.getScale())
+                .setScale(0, RoundingMode.HALF_UP).longValue());
+    }
+
+    /**
+     * Read a stat in its own units (cents for money stats)
+     */
+    public long get(UUID playerUuid, Stat stat) {
+        PlayerStats playerStats = stats.get(playerUuid);
+        if (playerStats == null) return 0;
+        int i = stat.ordinal();
+        long value;
+        synchronized (playerStats) {
+            value = playerStats.base[i] + playerStats.inFlight[i];
+        }
+        return value + playerStats.pending[i].sum();
+    }
+
+    /**
+     * Read a money stat as an amount of money
+     */
+    public double getAmount(UUID playerUuid, Stat stat) {
+        return BigDecimal.valueOf(get(playerUuid, stat), stat.getScale()).doubleValue();
+    }
+
+    /**
+     * Whether the player has any recorded statistics
+     */
+    public boolean hasStats(UUID playerUuid) {
+        PlayerStats playerStats = stats.get(playerUuid);
+        if (playerStats == null) return false;
+        for (Stat stat : STATS) {
+            if (get(playerUuid, stat) != 0) return true;
+        }
+        synchronized (playerStats) {
+            return playerStats.stored;
+        }
+    }
+
+    /**
+     * Read a player's stored totals; called from the async player data load, on the player's
+     * persistence lane so no stats write of theirs runs concurrently
+     *
+     * @return the totals indexed by stat ordinal, or null if the player has no row
+     */
+    public long[] loadStats(Connection conn, UUID playerUuid) throws SQLException {
+        PlayerStats playerStats = stats.get(playerUuid);
+        if (playerStats != null) {
+            synchronized (playerStats) {
+                if (!playerStats.loaded) {
+                    // Deltas committed so far are part of the totals read below
+                    Arrays.fill(playerStats.base, 0);
+                }
+            }
+        }
+
+        String sql = "SELECT * FROM farming_player_stats WHERE uuid = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, playerUuid.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+
+                long[] values = new long[STATS.length];
+                for (Stat stat : STATS) {
+                    BigDecimal value = rs.getBigDecimal(stat.getColumn());
+                    values[stat.ordinal()] = value != null
+                            ? value.movePointRight(stat.getScale()).setScale(0, RoundingMode.HALF_UP).longValue() : 0;
+                }
+                return values;
+            }
+        }
+    }
+
+    /**
+     * Install loaded totals. Increments recorded while the load was in flight are kept.
+     */
+    public void installStats(UUID playerUuid, long[] values) {
+        PlayerStats playerStats = stats.computeIfAbsent(playerUuid, k -> new PlayerStats());
+        synchronized (playerStats) {
+            if (playerStats.loaded) return;
+            if (values != null) {
+                for (int i = 0; i < values.length; i++) {
+                    playerStats.base[i] += values[i];
+                }
+                playerStats.stored = true;
+            }
+            playerStats.loaded = true;
+        }
+    }
+
+    /**
+     * Load the stored totals of a player whose entry isn't cached, e.g. after it was evicted
+     * when they left. Runs on the player's persistence lane and installs on the main thread.
+     */
+    public void ensureLoaded(UUID playerUuid) {
+        PlayerStats playerStats = stats.get(playerUuid);
+        if (playerStats != null) {
+            synchronized (playerStats) {
+                if (playerStats.loaded) return;
+            }
+        }
+        if (!loading.add(playerUuid)) return;
+
+        plugin.getPersistenceExecutor().supply(playerUuid, conn -> loadStats(conn, playerUuid))
+                .whenComplete((values, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    loading.remove(playerUuid);
+                    if (error != null) {
+                        plugin.getLogger().log(Level.WARNING, "Could not load stats of " + playerUuid, error);
+                        return;
+                    }
+                    installStats(playerUuid, values);
+                }));
+    }
+
+    /**
+     * Drop the cached entry of a player who left once their deltas are written. The entry
+     * stays if they came back or changed meanwhile, or if the write failed.
+     */
+    public void unloadPlayer(UUID playerUuid) {
+        flush().whenComplete((written, error) -> {
+            if (!plugin.isEnabled()) return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (Bukkit.getPlayer(playerUuid) != null || loading.contains(playerUuid)) return;
+                stats.computeIfPresent(playerUuid, (uuid, playerStats) -> playerStats.isIdle() ? null : playerStats);
+            });
+        });
+    }
+
+    public void clearPlayer(UUID playerUuid) {
+        stats.remove(playerUuid);
+    }
+
+    public void clearAll() {
+        stats.clear();
+    }
+
+    /**
+     * Write all pending deltas. Deltas are batched per persistence lane and each batch runs on
+     * its lane, so a player's write is ordered with their data load and reset. Safe to call
+     * from any thread.
+     *
+     * @return future completed with the number of players written
+     */
+    public CompletableFuture<Integer> flush() {
+        Map<UUID, long[]> deltas = drainDeltas();
+        if (deltas.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        PersistenceExecutor executor = plugin.getPersistenceExecutor();
+        List<CompletableFuture<Integer>> writes = new ArrayList<>();
+        for (Map<UUID, long[]> batch : executor.partitionByLane(deltas)) {
+            UUID key = batch.keySet().iterator().next();
+            writes.add(executor.supply(key, conn -> writeBatch(conn, batch)).exceptionally(e -> {
+                restoreDeltas(batch);
+                plugin.getLogger().log(Level.SEVERE, "Could not flush player stats for " + batch.size() + " player(s)", e);
+                return 0;
+            }));
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> writes.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    private int writeBatch(Connection conn, Map<UUID, long[]> deltas) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            writeDeltas(conn, deltas, 0);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        acknowledgeDeltas(deltas);
+        return deltas.size();
+    }
+
+    /**
+     * Take all pending deltas, keyed by player and indexed by stat ordinal. They stay counted
+     * as in flight until acknowledged or restored.
+     */
+    public synchronized Map<UUID, long[]> drainDeltas() {
+        Map<UUID, long[]> deltas = new HashMap<>();
+        for (Map.Entry<UUID, PlayerStats> entry : stats.entrySet()) {
+            PlayerStats playerStats = entry.getValue();
+            long[] delta = new long[STATS.length];
+            boolean changed = false;
+            synchronized (playerStats) {
+                for (int i = 0; i < delta.length; i++) {
+                    delta[i] = playerStats.pending[i].sumThenReset();
+                    if (delta[i] != 0) {
+                        // Still counted by reads while the write is in flight
+                        playerStats.inFlight[i] += delta[i];
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Move drained deltas into the stored totals once their write has committed
+     */
+    public void acknowledgeDeltas(Map<UUID, long[]> deltas) {
+        deltas.forEach((uuid, delta) -> {
+            PlayerStats playerStats = stats.get(uuid);
+            if (playerStats == null) return;
+            synchronized (playerStats) {
+                for (int i = 0; i < delta.length; i++) {
+                    playerStats.inFlight[i] -= delta[i];
+                    playerStats.base[i] += delta[i];
+                }
+            }
+        });
+    }
+
+    /**
+     * Put drained deltas back after a failed write so the next flush retries them
+     */
+    public void restoreDeltas(Map<UUID, long[]> deltas) {
+        deltas.forEach((uuid, delta) -> {
+            PlayerStats playerStats = stats.computeIfAbsent(uuid, k -> new PlayerStats());
+            synchronized (playerStats) {
+                for (int i = 0; i < delta.length; i++) {
+                    playerStats.inFlight[i] -= delta[i];
+                    playerStats.pending[i].add(delta[i]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Add the deltas to the caller's transaction; does not commit
+     *
+     * @param queryTimeoutSeconds statement timeout, or 0 for none
+     */
+    public void writeDeltas(Connection conn, Map<UUID, long[]> deltas, int queryTimeoutSeconds) throws SQLException {
+        if (deltas.isEmpty()) return;
+
+        StringBuilder columns = new StringBuilder("uuid");
+        StringBuilder placeholders = new StringBuilder("?");
+        StringBuilder updates = new StringBuilder();
+        for (Stat stat : STATS) {
+            columns.append(", ").append(stat.getColumn());
+            placeholders.append(", ?");
+            if (updates.length() > 0) updates.append(", ");
+            updates.append(stat.getColumn()).append(" = ").append(stat.getColumn())
+                   .append(" + VALUES(").append(stat.getColumn()).append(")");
+        }
+        String sql = "INSERT INTO farming_player_stats (" + columns + ") VALUES (" + placeholders + ") " +
+                   "ON DUPLICATE KEY UPDATE " + updates;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setQueryTimeout(queryTimeoutSeconds);
+            for (Map.Entry<UUID, long[]> entry : deltas.entrySet()) {
+                stmt.setString(1, entry.getKey().toString());
+                long[] delta = entry.getValue();
+                for (Stat stat : STATS) {
+                    int i = stat.ordinal();
+                    if (stat.getScale() > 0) {
+                        stmt.setBigDecimal(i + 2, BigDecimal.valueOf(delta[i], stat.getScale()));
+                    } else {
+                        stmt.setLong(i + 2, delta[i]);
+                    }
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * (Re)start the periodic flush of stat deltas with the configured interval
+     */
+    public void startFlushTask() {
+        if (flushTask != null) {
+            flushTask.cancel();
+        }
+        long interval = 20L * plugin.getSettings().getFlushIntervalSeconds();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+}
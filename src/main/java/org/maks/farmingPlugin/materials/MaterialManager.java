@@ -10,6 +10,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.maks.farmingPlugin.FarmingPlugin;
+import org.maks.farmingPlugin.farms.StorageCodec;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,19 +28,38 @@ public class MaterialManager {
     private final NamespacedKey materialKey;
     private final NamespacedKey tierKey;
 
+    // Prebuilt single items per material and tier, indexed by StorageCodec slot
+    private final ItemStack[] templates;
+
     public MaterialManager(FarmingPlugin plugin) {
         this.plugin = plugin;
         this.materialKey = new NamespacedKey(plugin, "farmer_material");
         this.tierKey = new NamespacedKey(plugin, "farmer_tier");
+
+        this.templates = new ItemStack[StorageCodec.SLOTS];
+        for (int slot = 0; slot < templates.length; slot++) {
+            templates[slot] = buildMaterial(StorageCodec.materialOf(slot), StorageCodec.tierOf(slot));
+        }
+    }
+
+    /**
+     * Create a farming material item stack. Copies a prebuilt template, so item meta is
+     * only built once per material and tier.
+     */
+    public ItemStack createMaterial(MaterialType type, int tier, int amount) {
+        if (tier >= 1 && tier <= StorageCodec.TIERS) {
+            return templates[StorageCodec.slot(type, tier)].asQuantity(amount);
+        }
+        return buildMaterial(type, tier).asQuantity(amount);
     }
 
     /**
-     * Create a farming material item stack.
+     * Build a farming material item.
      * Stores a full ID in PersistentDataContainer in format farmer_[id]_TIER
      * to maintain compatibility with IngredientPouch plugin.
      */
-    public ItemStack createMaterial(MaterialType type, int tier, int amount) {
-        ItemStack item = new ItemStack(type.getMaterial(), amount);
+    private ItemStack buildMaterial(MaterialType type, int tier) {
+        ItemStack item = new ItemStack(type.getMaterial());
         ItemMeta meta = item.getItemMeta();
 
         if (meta != null) {